@@ -8,6 +8,10 @@ import org.terasology.engine.entitySystem.event.AbstractValueModifiableEvent;
 /**
  * This event is sent out by the {@link BodyTemperatureSystem} to allow for other systems to modify the change in body
  * temperature.
+ * <p>
+ * The result is cached per entity as a factor on the change, separately for rising and falling body temperatures, until
+ * the {@link org.terasology.climateConditions.alterationEffects.AffectBodyTemperatureComponent} of the entity changes.
+ * Modifiers depending on anything else need the entity to have a {@link DynamicBodyTemperatureModifiersComponent}.
  */
 public class AffectBodyTemperatureEvent extends AbstractValueModifiableEvent {
     public AffectBodyTemperatureEvent(float baseValue) {
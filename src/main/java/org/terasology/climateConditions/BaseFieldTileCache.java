@@ -0,0 +1,160 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.engine.world.chunks.Chunks;
+
+/**
+ * Caches the base values of a {@link ConditionsBaseField} in tiles of one chunk column each.
+ * <p>
+ * The base value only depends on the x and z coordinates, so a tile holds one value per block column of a chunk. The
+ * number of cached tiles is bounded, the least recently used tile is evicted once the limit is reached.
+ * <p>
+ * The cache is not lock-free: every lookup briefly locks it to update the eviction order. Missing tiles are computed
+ * outside the lock, so a miss doesn't hold up other threads, but concurrent misses of the same tile may compute it
+ * more than once.
+ */
+class BaseFieldTileCache {
+    static final int TILE_AREA = Chunks.SIZE_X * Chunks.SIZE_Z;
+    static final long TILE_SIZE_IN_BYTES = TILE_AREA * (long) Float.BYTES;
+
+    private final TLongObjectMap<Tile> tiles = new TLongObjectHashMap<>();
+    private final ColumnSampler sampler;
+    private final int maxTiles;
+
+    /** The most recently used tile, the head of the eviction list. */
+    private Tile head;
+    /** The least recently used tile, evicted first. */
+    private Tile tail;
+
+    /**
+     * @param sampler computes the uncached base value of a column
+     * @param memoryBudget the maximum number of bytes to spend on cached values, at least one tile is always kept
+     */
+    BaseFieldTileCache(ColumnSampler sampler, long memoryBudget) {
+        this.sampler = sampler;
+        this.maxTiles = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memoryBudget / TILE_SIZE_IN_BYTES));
+    }
+
+    /**
+     * Returns the cached base value of the given block column, computing its tile if necessary.
+     */
+    float get(int x, int z) {
+        int tileX = x >> Chunks.POWER_X;
+        int tileZ = z >> Chunks.POWER_Z;
+        long key = toKey(tileX, tileZ);
+        Tile tile = getTile(key);
+        if (tile == null) {
+            tile = addTile(createTile(key, tileX, tileZ));
+        }
+        return tile.values[(x & (Chunks.SIZE_X - 1)) + Chunks.SIZE_X * (z & (Chunks.SIZE_Z - 1))];
+    }
+
+    synchronized int size() {
+        return tiles.size();
+    }
+
+    synchronized void clear() {
+        tiles.clear();
+        head = null;
+        tail = null;
+    }
+
+    /**
+     * Returns the cached tile with the given key and marks it as most recently used, {@code null} if not cached.
+     */
+    private synchronized Tile getTile(long key) {
+        Tile tile = tiles.get(key);
+        if (tile != null && tile != head) {
+            unlink(tile);
+            linkFirst(tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Adds a computed tile unless another thread added the same tile meanwhile, and returns the cached tile.
+     */
+    private synchronized Tile addTile(Tile computed) {
+        Tile tile = tiles.get(computed.key);
+        if (tile != null) {
+            if (tile != head) {
+                unlink(tile);
+                linkFirst(tile);
+            }
+            return tile;
+        }
+        tiles.put(computed.key, computed);
+        if (tiles.size() > maxTiles) {
+            tiles.remove(tail.key);
+            unlink(tail);
+        }
+        linkFirst(computed);
+        return computed;
+    }
+
+    private Tile createTile(long key, int tileX, int tileZ) {
+        Tile tile = new Tile(key);
+        int minX = tileX << Chunks.POWER_X;
+        int minZ = tileZ << Chunks.POWER_Z;
+        int index = 0;
+        for (int z = 0; z < Chunks.SIZE_Z; z++) {
+            for (int x = 0; x < Chunks.SIZE_X; x++) {
+                tile.values[index++] = sampler.sample(minX + x, minZ + z);
+            }
+        }
+        return tile;
+    }
+
+    private void linkFirst(Tile tile) {
+        tile.previous = null;
+        tile.next = head;
+        if (head != null) {
+            head.previous = tile;
+        }
+        head = tile;
+        if (tail == null) {
+            tail = tile;
+        }
+    }
+
+    private void unlink(Tile tile) {
+        if (tile.previous != null) {
+            tile.previous.next = tile.next;
+        } else {
+            head = tile.next;
+        }
+        if (tile.next != null) {
+            tile.next.previous = tile.previous;
+        } else {
+            tail = tile.previous;
+        }
+        tile.previous = null;
+        tile.next = null;
+    }
+
+    private static long toKey(int tileX, int tileZ) {
+        return ((long) tileX << 32) | (tileZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Computes the uncached base value of a block column.
+     */
+    @FunctionalInterface
+    interface ColumnSampler {
+        float sample(float x, float z);
+    }
+
+    private static final class Tile {
+        private final long key;
+        private final float[] values = new float[TILE_AREA];
+        private Tile previous;
+        private Tile next;
+
+        private Tile(long key) {
+            this.key = key;
+        }
+    }
+}
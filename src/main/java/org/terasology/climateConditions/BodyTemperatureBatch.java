@@ -0,0 +1,165 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.joml.Vector3fc;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.Arrays;
+
+/**
+ * The entities of one body temperature update, with their data gathered into primitive arrays.
+ * <p>
+ * Gathering first lets the environment sampling and the integration run as tight loops over the arrays, separate from
+ * the entity system access. The arrays are reused between updates and only grow.
+ */
+final class BodyTemperatureBatch {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private EntityRef[] entities = new EntityRef[INITIAL_CAPACITY];
+    private BodyTemperatureComponent[] components = new BodyTemperatureComponent[INITIAL_CAPACITY];
+    private float[] positions = new float[3 * INITIAL_CAPACITY];
+    private float[] current = new float[INITIAL_CAPACITY];
+    private long[] intervals = new long[INITIAL_CAPACITY];
+    private float[] exposures = new float[INITIAL_CAPACITY];
+    private float[] envTemperatures = new float[INITIAL_CAPACITY];
+    private float[] envHumidities = new float[INITIAL_CAPACITY];
+    private boolean[] cachedEnvironment = new boolean[INITIAL_CAPACITY];
+    private float[] deltas = new float[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds an entity to the batch.
+     *
+     * @param entity the entity to update
+     * @param bodyTemperature the body temperature component of the entity
+     * @param position the position to sample the environment at
+     * @param interval the time since the last update of the entity in milliseconds
+     * @param exposure the factor on the speed the body temperature approaches the environment, less than 1 in shelters
+     */
+    void add(EntityRef entity, BodyTemperatureComponent bodyTemperature, Vector3fc position, long interval,
+             float exposure) {
+        if (size == entities.length) {
+            grow();
+        }
+        entities[size] = entity;
+        components[size] = bodyTemperature;
+        positions[3 * size] = position.x();
+        positions[3 * size + 1] = position.y();
+        positions[3 * size + 2] = position.z();
+        current[size] = bodyTemperature.current;
+        intervals[size] = interval;
+        exposures[size] = exposure;
+        cachedEnvironment[size] = false;
+        size++;
+    }
+
+    /**
+     * Sets the environment of an entity from a cached sample, so it is not sampled again.
+     */
+    void setCachedEnvironment(int index, float temperature, float humidity) {
+        envTemperatures[index] = temperature;
+        envHumidities[index] = humidity;
+        cachedEnvironment[index] = true;
+    }
+
+    /**
+     * Samples the environment temperature and humidity of the entities in the given range of the batch, skipping
+     * entities with a cached environment.
+     * <p>
+     * Disjoint ranges may be sampled concurrently, as long as the batch is not modified meanwhile.
+     *
+     * @param climate the climate to sample
+     * @param sample a holder to reuse for the samples
+     * @param from the index of the first entity to sample
+     * @param to the index after the last entity to sample
+     */
+    void sampleEnvironment(ClimateConditionsSystem climate, ConditionsSample sample, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (cachedEnvironment[i]) {
+                continue;
+            }
+            climate.getConditions(positions[3 * i], positions[3 * i + 1], positions[3 * i + 2], sample);
+            envTemperatures[i] = sample.temperature;
+            envHumidities[i] = sample.humidity;
+        }
+    }
+
+    /**
+     * Computes the change of body temperature of the entities in the given range of the batch, before modifiers are
+     * applied. Requires the environment of the range to be sampled.
+     *
+     * @param from the index of the first entity
+     * @param to the index after the last entity
+     */
+    void computeDeltas(int from, int to) {
+        for (int i = from; i < to; i++) {
+            deltas[i] = BodyTemperatureSystem.integrateTemperatureChange(current[i],
+                BodyTemperatureSystem.getTargetTemperature(envTemperatures[i], envHumidities[i]), exposures[i],
+                intervals[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    EntityRef getEntity(int index) {
+        return entities[index];
+    }
+
+    BodyTemperatureComponent getComponent(int index) {
+        return components[index];
+    }
+
+    float getCurrent(int index) {
+        return current[index];
+    }
+
+    long getInterval(int index) {
+        return intervals[index];
+    }
+
+    float getExposure(int index) {
+        return exposures[index];
+    }
+
+    float getEnvTemperature(int index) {
+        return envTemperatures[index];
+    }
+
+    float getEnvHumidity(int index) {
+        return envHumidities[index];
+    }
+
+    boolean hasCachedEnvironment(int index) {
+        return cachedEnvironment[index];
+    }
+
+    float getDelta(int index) {
+        return deltas[index];
+    }
+
+    /**
+     * Empties the batch, releasing the references to the entities and components.
+     */
+    void clear() {
+        Arrays.fill(entities, 0, size, null);
+        Arrays.fill(components, 0, size, null);
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = 2 * entities.length;
+        entities = Arrays.copyOf(entities, capacity);
+        components = Arrays.copyOf(components, capacity);
+        positions = Arrays.copyOf(positions, 3 * capacity);
+        current = Arrays.copyOf(current, capacity);
+        intervals = Arrays.copyOf(intervals, capacity);
+        exposures = Arrays.copyOf(exposures, capacity);
+        envTemperatures = Arrays.copyOf(envTemperatures, capacity);
+        envHumidities = Arrays.copyOf(envHumidities, capacity);
+        cachedEnvironment = Arrays.copyOf(cachedEnvironment, capacity);
+        deltas = Arrays.copyOf(deltas, capacity);
+    }
+}
@@ -22,13 +22,26 @@ public class BodyTemperatureComponent implements Component<BodyTemperatureCompon
      *   High           [0.55, 0.6)
      *   CriticalHigh    > = 0.6
      *   Note: These values are configured according to the current environment temperature values and can be modified
-     *   in the {@link BodyTemperatureSystem}
+     *   in the BodyTemperatureThresholds prefab, see {@link BodyTemperatureThresholdsComponent}
      */
 
-    /** Stores the current body temperature value.*/
+    /**
+     * Stores the current body temperature value.
+     * <p>
+     * By default every change is saved and replicated. With {@link #quantizedReplication} enabled, the authority
+     * updates it in place without saving the component, so clients should read the body temperature through
+     * {@link BodyTemperaturePredictionSystem#getBodyTemperature} instead.
+     */
     @Replicate
     public float current = 0.4f;
 
+    /**
+     * Whether to replicate a {@link BodyTemperaturePredictionComponent} instead of this component, which is then never
+     * saved and only exact on the authority. Pays off with many players, e.g. when enabled in the player prefab of a
+     * server. Only read by the authority.
+     */
+    public boolean quantizedReplication;
+
     /** Stores the current body temperature level.*/
     @Replicate
     public BodyTemperatureLevel currentLevel = BodyTemperatureLevel.NORMAL;
@@ -36,6 +49,7 @@ public class BodyTemperatureComponent implements Component<BodyTemperatureCompon
     @Override
     public void copyFrom(BodyTemperatureComponent other) {
         this.current = other.current;
+        this.quantizedReplication = other.quantizedReplication;
         this.currentLevel = other.currentLevel;
     }
 }
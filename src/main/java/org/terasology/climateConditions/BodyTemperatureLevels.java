@@ -0,0 +1,112 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+/**
+ * Maps body temperatures to {@link BodyTemperatureLevel}s, with hysteresis around the thresholds.
+ * <p>
+ * Each threshold is turned into a split point, a level counting the split points at or below a temperature. The split
+ * points are shifted up by the hysteresis for rising and down for falling temperatures, so the level only changes once
+ * a threshold is passed by that margin. Levels of the common temperature range [0, 1) are read from precomputed tables,
+ * falling back to comparing the split points only near a split point.
+ */
+final class BodyTemperatureLevels {
+    private static final BodyTemperatureLevel[] LEVELS = BodyTemperatureLevel.values();
+    private static final int TABLE_SIZE = 1024;
+    /** The table entry of buckets that contain a split point. */
+    private static final byte MIXED = -1;
+
+    private final float[] splits;
+    private final float[] risingSplits;
+    private final float[] fallingSplits;
+    private final byte[] table;
+    private final byte[] risingTable;
+    private final byte[] fallingTable;
+
+    BodyTemperatureLevels(BodyTemperatureThresholdsComponent thresholds) {
+        if (!(thresholds.hysteresis >= 0)) {
+            throw new IllegalArgumentException("Body temperature hysteresis must not be negative");
+        }
+        // The low thresholds belong to the level below them, so they split right above the threshold.
+        float[] bounds = {Math.nextUp(thresholds.criticalLow), Math.nextUp(thresholds.low),
+            Math.nextUp(thresholds.reduced), thresholds.raised, thresholds.high, thresholds.criticalHigh};
+        splits = new float[bounds.length];
+        risingSplits = new float[bounds.length];
+        fallingSplits = new float[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            if (i > 0 && !(bounds[i] > bounds[i - 1])) {
+                throw new IllegalArgumentException("Body temperature thresholds must be ascending");
+            }
+            splits[i] = bounds[i];
+            risingSplits[i] = bounds[i] + thresholds.hysteresis;
+            fallingSplits[i] = bounds[i] - thresholds.hysteresis;
+        }
+        table = buildTable(splits);
+        risingTable = buildTable(risingSplits);
+        fallingTable = buildTable(fallingSplits);
+    }
+
+    /**
+     * Returns the level of the given body temperature, without hysteresis.
+     */
+    BodyTemperatureLevel getLevel(float temperature) {
+        return LEVELS[lookup(table, splits, temperature)];
+    }
+
+    /**
+     * Returns the level of the given body temperature, changing from the current level only if the temperature passed
+     * the thresholds by the hysteresis.
+     */
+    BodyTemperatureLevel getLevel(float temperature, BodyTemperatureLevel current) {
+        int risen = lookup(risingTable, risingSplits, temperature);
+        if (risen > current.ordinal()) {
+            return LEVELS[risen];
+        }
+        int fallen = lookup(fallingTable, fallingSplits, temperature);
+        if (fallen < current.ordinal()) {
+            return LEVELS[fallen];
+        }
+        return current;
+    }
+
+    /**
+     * Returns the temperatures at which a body temperature changes its level, either with or without hysteresis. The
+     * returned values split temperatures into those below and those at or above them.
+     */
+    float[] getSplitPoints() {
+        float[] points = new float[3 * splits.length];
+        System.arraycopy(splits, 0, points, 0, splits.length);
+        System.arraycopy(risingSplits, 0, points, splits.length, splits.length);
+        System.arraycopy(fallingSplits, 0, points, 2 * splits.length, splits.length);
+        return points;
+    }
+
+    private static int lookup(byte[] levelTable, float[] splitPoints, float temperature) {
+        if (temperature >= 0 && temperature < 1) {
+            byte level = levelTable[(int) (temperature * TABLE_SIZE)];
+            if (level != MIXED) {
+                return level;
+            }
+        }
+        return count(splitPoints, temperature);
+    }
+
+    private static int count(float[] splitPoints, float temperature) {
+        int level = 0;
+        while (level < splitPoints.length && splitPoints[level] <= temperature) {
+            level++;
+        }
+        return level;
+    }
+
+    private static byte[] buildTable(float[] splitPoints) {
+        byte[] levelTable = new byte[TABLE_SIZE];
+        for (int bucket = 0; bucket < TABLE_SIZE; bucket++) {
+            // Widened by an ulp on both ends, so rounding in the bucket index can't map a temperature out of its bucket.
+            int first = count(splitPoints, Math.nextDown((float) bucket / TABLE_SIZE));
+            int last = count(splitPoints, Math.nextUp((float) (bucket + 1) / TABLE_SIZE));
+            levelTable[bucket] = first == last ? (byte) first : MIXED;
+        }
+        return levelTable;
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+/**
+ * Extrapolates the body temperature from a {@link BodyTemperaturePredictionComponent}.
+ * <p>
+ * Uses the same rate model as the {@link BodyTemperatureSystem}: the body temperature approaches the replicated target
+ * exponentially at the replicated rate, starting at the replicated value and time. The authority runs the same
+ * prediction and only replicates a correction when its exact body temperature deviates from the prediction.
+ */
+final class BodyTemperaturePrediction {
+    private BodyTemperaturePrediction() {
+    }
+
+    /**
+     * Returns the predicted body temperature at the given game time.
+     */
+    static float predict(BodyTemperaturePredictionComponent prediction, long time) {
+        float start = BodyTemperatureQuantization.dequantize(prediction.value);
+        if (prediction.rate == 0 || time <= prediction.time) {
+            return start;
+        }
+        float target = BodyTemperatureQuantization.dequantize(prediction.target);
+        return start + BodyTemperatureSystem.integrateTemperatureChange(start, target, prediction.rate,
+                time - prediction.time);
+    }
+}
@@ -0,0 +1,44 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.terasology.engine.network.Replicate;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+/**
+ * The replicated body temperature of entities with {@link BodyTemperatureComponent#quantizedReplication} enabled, which
+ * clients extrapolate between corrections, see {@link BodyTemperaturePrediction}.
+ * <p>
+ * Added by the {@link BodyTemperatureSystem} and only saved when the predicted body temperature deviates from the exact
+ * one by more than the replication epsilon, or when the level changes.
+ */
+public class BodyTemperaturePredictionComponent implements Component<BodyTemperaturePredictionComponent> {
+    /** The body temperature at {@link #time}, quantized by {@link BodyTemperatureQuantization}. */
+    @Replicate
+    public short value = BodyTemperatureQuantization.quantize(0.4f);
+
+    /** The quantized body temperature the predicted value approaches. */
+    @Replicate
+    public short target = BodyTemperatureQuantization.quantize(0.4f);
+
+    /** The factor on the speed of the approach towards the target, 0 to predict no change. */
+    @Replicate
+    public float rate;
+
+    /** The game time in milliseconds at which {@link #value} was exact. */
+    @Replicate
+    public long time;
+
+    /** The body temperature level, as {@link BodyTemperatureComponent#currentLevel} isn't replicated with it. */
+    @Replicate
+    public BodyTemperatureLevel level = BodyTemperatureLevel.NORMAL;
+
+    @Override
+    public void copyFrom(BodyTemperaturePredictionComponent other) {
+        this.value = other.value;
+        this.target = other.target;
+        this.rate = other.rate;
+        this.time = other.time;
+        this.level = other.level;
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+
+/**
+ * Predicts the body temperature of characters on the client between the sparse corrections sent by the authority.
+ * <p>
+ * The prediction is only computed on demand, so UI elements can display a smoothly changing value without the authority
+ * replicating every update and without any cost while nothing displays it.
+ */
+@RegisterSystem(RegisterMode.CLIENT)
+@Share(BodyTemperaturePredictionSystem.class)
+public class BodyTemperaturePredictionSystem extends BaseComponentSystem {
+    @In
+    private Time time;
+
+    /**
+     * Returns the predicted body temperature of the given character, or NaN if it has no body temperature.
+     * <p>
+     * Works regardless of {@link BodyTemperatureComponent#quantizedReplication}: without it every change is
+     * replicated, and the replicated body temperature is returned as is.
+     */
+    public float getBodyTemperature(EntityRef character) {
+        BodyTemperaturePredictionComponent prediction = character.getComponent(BodyTemperaturePredictionComponent.class);
+        if (prediction != null) {
+            return BodyTemperaturePrediction.predict(prediction, time.getGameTimeInMs());
+        }
+        BodyTemperatureComponent bodyTemperature = character.getComponent(BodyTemperatureComponent.class);
+        return bodyTemperature != null ? bodyTemperature.current : Float.NaN;
+    }
+}
@@ -0,0 +1,34 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+/**
+ * Quantizes body temperatures to 16 bits for replication.
+ * <p>
+ * The range covers all body temperatures reachable in environments from 0 to 1, with a resolution of about 3e-5. Values
+ * outside of the range are clamped.
+ */
+public final class BodyTemperatureQuantization {
+    public static final float MIN_VALUE = -0.5f;
+    public static final float MAX_VALUE = 1.5f;
+
+    private static final int STEPS = 0xFFFF;
+
+    private BodyTemperatureQuantization() {
+    }
+
+    /**
+     * Returns the quantized body temperature, from 0 to 65535 stored in the 16 bits of a short.
+     */
+    public static short quantize(float temperature) {
+        float clamped = Math.max(MIN_VALUE, Math.min(MAX_VALUE, temperature));
+        return (short) Math.round((clamped - MIN_VALUE) / (MAX_VALUE - MIN_VALUE) * STEPS);
+    }
+
+    /**
+     * Returns the body temperature represented by a quantized value.
+     */
+    public static float dequantize(short quantized) {
+        return MIN_VALUE + (MAX_VALUE - MIN_VALUE) * (quantized & STEPS) / STEPS;
+    }
+}
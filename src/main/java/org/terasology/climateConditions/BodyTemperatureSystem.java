@@ -3,30 +3,90 @@
 
 package org.terasology.climateConditions;
 
+import gnu.trove.map.TObjectLongMap;
+import gnu.trove.map.hash.TObjectLongHashMap;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.climateConditions.alterationEffects.AffectBodyTemperatureComponent;
+import org.terasology.climateConditions.metrics.ClimateMetrics;
+import org.terasology.engine.core.Time;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnAddedComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.engine.logic.characters.AliveCharacterComponent;
 import org.terasology.engine.logic.characters.events.PlayerDeathEvent;
-import org.terasology.engine.logic.chat.ChatMessageEvent;
 import org.terasology.engine.logic.delay.DelayManager;
-import org.terasology.engine.logic.delay.PeriodicActionTriggeredEvent;
 import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.network.ClientComponent;
 import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
 import org.terasology.engine.world.WorldComponent;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 @RegisterSystem(value = RegisterMode.AUTHORITY)
-public class BodyTemperatureSystem extends BaseComponentSystem {
+@Share(BodyTemperatureSystem.class)
+public class BodyTemperatureSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    /**
+     * The id of the periodic action that used to update all body temperatures at once.
+     *
+     * @deprecated body temperatures are updated in slices every engine tick; the action is only cancelled on worlds
+     *         that still have it.
+     */
+    @Deprecated
     public static final String BODY_TEMPERATURE_UPDATE_ACTION_ID = "climateConditions:bodyTemperatureUpdate";
 
     private static final Logger logger = LoggerFactory.getLogger(BodyTemperatureSystem.class);
 
+    private static final String THRESHOLDS_PREFAB = "ClimateConditions:BodyTemperatureThresholds";
+
+    /** The interval in milliseconds at which the body temperature of each entity is updated. */
     private static final int CHECK_INTERVAL = 1000;
+    /**
+     * The longest interval integrated at once. The integration is exact for any interval, this only keeps entities from
+     * jumping after a stall.
+     */
+    private static final int MAX_INTEGRATION_INTERVAL = 60 * CHECK_INTERVAL;
+    /** The time constant in milliseconds of the body temperature approaching the environment. */
+    private static final float TIME_CONSTANT = 100000;
+    private static final int DEFAULT_MAX_UPDATES_PER_TICK = 512;
+
+    /** Entities within this distance of a player are always updated at full detail. */
+    private static final float NEAR_PLAYER_DISTANCE = 32;
+    /** Entities beyond this distance of all players are updated at {@link #FAR_UPDATE_INTERVAL}. */
+    private static final float FAR_PLAYER_DISTANCE = 96;
+    private static final int IDLE_UPDATE_INTERVAL = 4 * CHECK_INTERVAL;
+    private static final int FAR_UPDATE_INTERVAL = 8 * CHECK_INTERVAL;
+    /** Entities that moved less than this since their environment was sampled are considered stationary. */
+    private static final float STATIONARY_DISTANCE = 0.5f;
+    /** The maximum age of a cached environment sample, so slow changes like generators are picked up eventually. */
+    private static final int MAX_ENVIRONMENT_AGE = 4 * FAR_UPDATE_INTERVAL;
+    private static final float ENVIRONMENT_EPSILON = 0.001f;
+    private static final float DEFAULT_REPLICATION_EPSILON = 0.005f;
+    /** The fraction by which a full shelter slows down approaching the temperature of the environment. */
+    static final float MAX_SHELTER_INSULATION = 0.75f;
+    /** The number of entities sampled by a single task of a parallel update. */
+    private static final int PARALLEL_TASK_SIZE = 64;
 
     @In
     ClimateConditionsSystem climateConditionsSystem;
@@ -34,93 +94,589 @@ public class BodyTemperatureSystem extends BaseComponentSystem {
     DelayManager delayManager;
     @In
     private EntityManager entityManager;
+    @In
+    private Time time;
+    @In
+    private BodyTemperatureTelemetrySystem telemetry;
+    @In
+    private PrefabManager prefabManager;
+    @In
+    private ShelterSystem shelterSystem;
+
+    /** Reused for sampling the environment of each entity. */
+    private final ConditionsSample conditionsSample = new ConditionsSample();
+    /** Reused for gathering the entities of each update. */
+    private BodyTemperatureBatch batch = new BodyTemperatureBatch();
+    /** The batch computed in the background during parallel updates, applied on the next update. */
+    private BodyTemperatureBatch pendingBatch = new BodyTemperatureBatch();
+    private CompletableFuture<Void> pendingComputation;
+    /** Runs the computations of parallel updates, {@code null} if updates are computed on the main thread. */
+    private Executor updateExecutor;
+    private float replicationEpsilon = DEFAULT_REPLICATION_EPSILON;
 
-    private float criticalLowBodyTemperatureThreshold = 0.17f;
-    private float lowBodyTemperatureThreshold = 0.22f;
-    private float reducedBodyTemperatureThreshold = 0.3f;
-    private float raisedBodyTemperatureThreshold = 0.5f;
-    private float highBodyTemperatureThreshold = 0.58f;
-    private float criticalHighBodyTemperatureThreshold = 0.63f;
-    //The Normal Body Temperature range is 0.3 - 0.5 as of now.
+    /** The entities of the current update round, of which a slice is updated every engine tick. */
+    private final List<EntityRef> schedule = new ArrayList<>();
+    private int scheduleCursor;
+    private long roundStart = -1;
+    private final TObjectLongMap<EntityRef> lastUpdateTimes = new TObjectLongHashMap<>();
+    private final Map<EntityRef, CachedEnvironment> environments = new HashMap<>();
+    private final Map<EntityRef, ResolvedModifiers> modifiers = new HashMap<>();
+    /** The world positions of the player characters at the start of the current round. */
+    private final List<Vector3f> playerPositions = new ArrayList<>();
+    /** The world position of the entity being gathered. */
+    private final Vector3f gatheredPosition = new Vector3f();
+    private int maxUpdatesPerTick = DEFAULT_MAX_UPDATES_PER_TICK;
+
+    /** The sorted thresholds whose crossing is notified with a {@link BodyTemperatureValueChangedEvent}. */
+    private float[] thresholds = new float[0];
+    /** The steps whose multiples are notified when crossed, so subscribers see changes of roughly that size. */
+    private float[] changeSteps = new float[0];
+
+    /** The body temperature levels, configured by the thresholds prefab in {@link #initialise()}. */
+    private BodyTemperatureLevels levels = new BodyTemperatureLevels(new BodyTemperatureThresholdsComponent());
+
+    @Override
+    public void initialise() {
+        Prefab thresholdsPrefab = prefabManager.getPrefab(THRESHOLDS_PREFAB);
+        BodyTemperatureThresholdsComponent thresholds = thresholdsPrefab != null
+                ? thresholdsPrefab.getComponent(BodyTemperatureThresholdsComponent.class) : null;
+        if (thresholds == null) {
+            logger.warn("No body temperature thresholds found in {}, using defaults", THRESHOLDS_PREFAB);
+            thresholds = new BodyTemperatureThresholdsComponent();
+        }
+        levels = new BodyTemperatureLevels(thresholds);
+        for (float splitPoint : levels.getSplitPoints()) {
+            addThreshold(splitPoint);
+        }
+    }
 
     public void postBegin() {
-        boolean processedOnce = false;
+        // Worlds saved before updates were time sliced still have the periodic action on the world entity.
         for (EntityRef entity : entityManager.getEntitiesWith(WorldComponent.class)) {
-            if (!processedOnce) {
-                delayManager.addPeriodicAction(entity, BODY_TEMPERATURE_UPDATE_ACTION_ID, 0, CHECK_INTERVAL);
-                processedOnce = true;
-            } else {
-                logger.warn("More than one entity with WorldComponent found");
+            if (delayManager.hasPeriodicAction(entity, BODY_TEMPERATURE_UPDATE_ACTION_ID)) {
+                delayManager.cancelPeriodicAction(entity, BODY_TEMPERATURE_UPDATE_ACTION_ID);
             }
         }
-        // The world is the entity here which shall have a Body Temperature Update Periodic Action.
+    }
+
+    @Override
+    public void shutdown() {
+        if (pendingComputation != null) {
+            pendingComputation.cancel(false);
+            pendingComputation = null;
+        }
+        pendingBatch.clear();
+        schedule.clear();
+        lastUpdateTimes.clear();
+        environments.clear();
+        modifiers.clear();
+        playerPositions.clear();
     }
 
     /**
-     * Updates the Body Temperature System when the periodic action with actionId = BODY_TEMPERATURE_UPDATE_ACTION_ID is
-     * triggered.
+     * Subscribes to body temperatures crossing the given threshold.
+     * <p>
+     * A {@link BodyTemperatureValueChangedEvent} is only sent when a body temperature changes from below a registered
+     * threshold to at or above it or vice versa, or when it crosses a multiple of a registered change step. Changes
+     * that cross none are applied silently.
+     *
+     * @param threshold the body temperature splitting the values of interest
      */
-    @ReceiveEvent
-    public void onTemperatureUpdate(PeriodicActionTriggeredEvent event, EntityRef world) {
-        if (event.getActionId().equals(BODY_TEMPERATURE_UPDATE_ACTION_ID)) {
-            for (EntityRef entity : entityManager.getEntitiesWith(AliveCharacterComponent.class,
-                    BodyTemperatureComponent.class, LocationComponent.class)) {
-                LocationComponent location = entity.getComponent(LocationComponent.class);
+    public void addThreshold(float threshold) {
+        float[] extended = Arrays.copyOf(thresholds, thresholds.length + 1);
+        extended[thresholds.length] = threshold;
+        Arrays.sort(extended);
+        thresholds = extended;
+    }
+
+    /**
+     * Subscribes to changes of body temperature of about the given size, by notifying whenever a body temperature
+     * crosses a multiple of the step.
+     *
+     * @param step the size of the changes of interest
+     * @see #addThreshold(float)
+     */
+    public void addChangeStep(float step) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("The change step must be positive, got " + step);
+        }
+        float[] extended = Arrays.copyOf(changeSteps, changeSteps.length + 1);
+        extended[changeSteps.length] = step;
+        changeSteps = extended;
+    }
+
+    /**
+     * Returns whether a change of body temperature crosses a subscribed threshold or change step.
+     */
+    private boolean isNotified(float oldValue, float newValue) {
+        float low = Math.min(oldValue, newValue);
+        float high = Math.max(oldValue, newValue);
+        for (float threshold : thresholds) {
+            if (threshold > high) {
+                break;
+            }
+            if (threshold > low) {
+                return true;
+            }
+        }
+        for (float step : changeSteps) {
+            if (Math.floor(low / step) != Math.floor(high / step)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the maximum number of entities whose body temperature is updated in a single engine tick.
+     * <p>
+     * Entities beyond the budget are postponed to later ticks; their longer interval is accounted for when they are
+     * updated.
+     */
+    public void setMaxUpdatesPerTick(int maxUpdatesPerTick) {
+        if (maxUpdatesPerTick < 1) {
+            throw new IllegalArgumentException("At least one update per tick is required");
+        }
+        this.maxUpdatesPerTick = maxUpdatesPerTick;
+    }
+
+    /**
+     * Enables or disables computing the body temperature updates in parallel on the common fork join pool.
+     *
+     * @see #setUpdateExecutor(Executor)
+     */
+    public void setParallelUpdates(boolean enabled) {
+        setUpdateExecutor(enabled ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Sets the executor to compute the body temperature updates on.
+     * <p>
+     * With an executor set, the positions of the entities are gathered on the main thread and the environment sampling
+     * and integration run split into tasks on the executor. The results are applied, and the resulting events sent, on
+     * the main thread during the next update, so every change takes effect one update interval later. This requires
+     * all condition modifiers registered with the {@link ClimateConditionsSystem} to be thread safe.
+     *
+     * @param executor the executor to use, or {@code null} to compute updates on the main thread
+     */
+    public void setUpdateExecutor(Executor executor) {
+        updateExecutor = executor;
+    }
+
+    /**
+     * Sets how far the body temperature has to deviate from the one predicted by clients before a correction is
+     * replicated, for body temperatures with {@link BodyTemperatureComponent#quantizedReplication} enabled.
+     * <p>
+     * Smaller deviations only update {@link BodyTemperatureComponent#current} in place on the authority, without saving
+     * the {@link BodyTemperaturePredictionComponent} replicated instead. Level changes are always replicated. With an
+     * epsilon of 0 every change is replicated.
+     *
+     * @param epsilon the maximum deviation of the predicted body temperature
+     */
+    public void setReplicationEpsilon(float epsilon) {
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("The replication epsilon must not be negative, got " + epsilon);
+        }
+        replicationEpsilon = epsilon;
+    }
+
+    /**
+     * Updates the body temperature of a slice of the entities.
+     * <p>
+     * Every {@link #CHECK_INTERVAL} a new round starts with all alive characters with a body temperature, which are then
+     * updated evenly spread over the interval, limited by the maximum number of updates per tick. Each entity is
+     * integrated over the game time that actually passed since its last update.
+     * <p>
+     * Entities away from players are updated at a reduced level of detail: entities far from all players, and
+     * stationary entities in an unchanged environment, are updated less often and reuse their cached environment
+     * sample as long as they don't move. Their longer interval makes up for the skipped updates.
+     * <p>
+     * The entities are gathered into a {@link BodyTemperatureBatch} first, so that the environment sampling and the
+     * integration run in tight loops. Components are only saved when their replicated value has to change.
+     */
+    @Override
+    public void update(float delta) {
+        long now = time.getGameTimeInMs();
+        if (roundStart < 0 || scheduleCursor == schedule.size() && now - roundStart >= CHECK_INTERVAL) {
+            startRound(now);
+        }
+        long roundTime = now - roundStart;
+        int due = roundTime >= CHECK_INTERVAL ? schedule.size() : (int) (schedule.size() * roundTime / CHECK_INTERVAL);
+        int end = Math.min(due, scheduleCursor + maxUpdatesPerTick);
+        if (end <= scheduleCursor && pendingComputation == null) {
+            return;
+        }
+
+        ClimateMetrics metrics = climateConditionsSystem.getMetrics();
+        long start = metrics.startTimer();
+        int processed = applyPendingBatch();
+        for (; scheduleCursor < end; scheduleCursor++) {
+            gather(schedule.get(scheduleCursor), now);
+        }
+        if (updateExecutor != null) {
+            if (batch.size() > 0) {
+                startPendingBatch(updateExecutor);
+            }
+        } else {
+            processed += applyBatch();
+        }
+        metrics.recordThermalTick(start, processed);
+    }
+
+    private void startRound(long now) {
+        schedule.clear();
+        for (EntityRef entity : entityManager.getEntitiesWith(AliveCharacterComponent.class,
+                BodyTemperatureComponent.class, LocationComponent.class)) {
+            schedule.add(entity);
+        }
+        playerPositions.clear();
+        for (EntityRef client : entityManager.getEntitiesWith(ClientComponent.class)) {
+            LocationComponent location = client.getComponent(ClientComponent.class).character
+                    .getComponent(LocationComponent.class);
+            if (location != null) {
+                playerPositions.add(location.getWorldPosition(new Vector3f()));
+            }
+        }
+        scheduleCursor = 0;
+        roundStart = now;
+    }
+
+    private void gather(EntityRef entity, long now) {
+        BodyTemperatureComponent bodyTemperature = entity.getComponent(BodyTemperatureComponent.class);
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (bodyTemperature == null || location == null || !entity.hasComponent(AliveCharacterComponent.class)) {
+            // Start over with a regular interval once the entity is updated again, e.g. after respawning.
+            lastUpdateTimes.remove(entity);
+            environments.remove(entity);
+            modifiers.remove(entity);
+            return;
+        }
+        Vector3f position = location.getWorldPosition(gatheredPosition);
+        CachedEnvironment environment = environments.computeIfAbsent(entity, e -> new CachedEnvironment());
+        float playerDistanceSquared = getPlayerDistanceSquared(position);
+        boolean nearPlayer = playerDistanceSquared <= NEAR_PLAYER_DISTANCE * NEAR_PLAYER_DISTANCE;
+        // Entities are only considered stationary once their environment settled, so changes are tracked closely.
+        boolean stationary = !nearPlayer && !environment.changed && environment.isValid(position, now);
+
+        long interval = CHECK_INTERVAL;
+        if (lastUpdateTimes.containsKey(entity)) {
+            long updateInterval = CHECK_INTERVAL;
+            if (playerDistanceSquared > FAR_PLAYER_DISTANCE * FAR_PLAYER_DISTANCE) {
+                updateInterval = FAR_UPDATE_INTERVAL;
+            } else if (stationary) {
+                updateInterval = IDLE_UPDATE_INTERVAL;
+            }
+            interval = now - lastUpdateTimes.get(entity);
+            // Rounds don't start at exact intervals, so allow for half an interval of jitter.
+            if (interval < updateInterval - CHECK_INTERVAL / 2) {
+                return;
+            }
+            interval = Math.max(0, Math.min(MAX_INTEGRATION_INTERVAL, interval));
+        }
+        lastUpdateTimes.put(entity, now);
+        float exposure = 1 - MAX_SHELTER_INSULATION * shelterSystem.getShelter(position);
+        batch.add(entity, bodyTemperature, position, interval, exposure);
+        if (stationary) {
+            batch.setCachedEnvironment(batch.size() - 1, environment.temperature, environment.humidity);
+        } else {
+            environment.position.set(position);
+            environment.sampleTime = now;
+        }
+    }
+
+    /**
+     * Returns the squared distance from the given position to the nearest player, or infinity without players.
+     */
+    private float getPlayerDistanceSquared(Vector3fc position) {
+        float distanceSquared = Float.POSITIVE_INFINITY;
+        for (Vector3f playerPosition : playerPositions) {
+            distanceSquared = Math.min(distanceSquared, playerPosition.distanceSquared(position));
+        }
+        return distanceSquared;
+    }
+
+    /**
+     * Stores the freshly sampled environment of an entity of the batch in its cache entry.
+     */
+    private void cacheEnvironment(BodyTemperatureBatch updated, int index) {
+        if (updated.hasCachedEnvironment(index)) {
+            return;
+        }
+        CachedEnvironment environment = environments.get(updated.getEntity(index));
+        if (environment != null) {
+            environment.update(updated.getEnvTemperature(index), updated.getEnvHumidity(index));
+        }
+    }
+
+    @ReceiveEvent(components = BodyTemperatureComponent.class)
+    public void onBodyTemperatureDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        lastUpdateTimes.remove(entity);
+        environments.remove(entity);
+        modifiers.remove(entity);
+    }
+
+    @ReceiveEvent(components = AffectBodyTemperatureComponent.class)
+    public void onModifiersAdded(OnAddedComponent event, EntityRef entity) {
+        modifiers.remove(entity);
+    }
+
+    @ReceiveEvent(components = AffectBodyTemperatureComponent.class)
+    public void onModifiersChanged(OnChangedComponent event, EntityRef entity) {
+        modifiers.remove(entity);
+    }
+
+    @ReceiveEvent(components = AffectBodyTemperatureComponent.class)
+    public void onModifiersRemoved(BeforeRemoveComponent event, EntityRef entity) {
+        modifiers.remove(entity);
+    }
+
+    private int applyBatch() {
+        try {
+            batch.sampleEnvironment(climateConditionsSystem, conditionsSample, 0, batch.size());
+            batch.computeDeltas(0, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                cacheEnvironment(batch, i);
+                applyUpdate(batch.getEntity(i), batch.getComponent(i), batch, i, batch.getDelta(i));
+            }
+            return batch.size();
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Swaps the gathered batch into the background and starts computing it on the given executor.
+     */
+    private void startPendingBatch(Executor executor) {
+        BodyTemperatureBatch gathered = batch;
+        batch = pendingBatch;
+        pendingBatch = gathered;
+
+        int size = gathered.size();
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[(size + PARALLEL_TASK_SIZE - 1) / PARALLEL_TASK_SIZE];
+        for (int task = 0; task < tasks.length; task++) {
+            int from = task * PARALLEL_TASK_SIZE;
+            int to = Math.min(size, from + PARALLEL_TASK_SIZE);
+            tasks[task] = CompletableFuture.runAsync(() -> {
+                gathered.sampleEnvironment(climateConditionsSystem, new ConditionsSample(), from, to);
+                gathered.computeDeltas(from, to);
+            }, executor);
+        }
+        pendingComputation = CompletableFuture.allOf(tasks);
+    }
+
+    /**
+     * Applies the batch computed in the background since the last update, if any.
+     * <p>
+     * Entities may have changed since they were gathered: entities that lost their body temperature or died are
+     * skipped, and the change is recomputed from the sampled environment for entities whose body temperature was
+     * changed meanwhile, e.g. reset after respawning.
+     *
+     * @return the number of entities in the applied batch
+     */
+    private int applyPendingBatch() {
+        if (pendingComputation == null) {
+            return 0;
+        }
+        try {
+            pendingComputation.join();
+            for (int i = 0; i < pendingBatch.size(); i++) {
+                EntityRef entity = pendingBatch.getEntity(i);
+                cacheEnvironment(pendingBatch, i);
                 BodyTemperatureComponent bodyTemperature = entity.getComponent(BodyTemperatureComponent.class);
-                float envTemperature = climateConditionsSystem.getTemperature(location.getLocalPosition());
-                float envHumidity = climateConditionsSystem.getHumidity(location.getLocalPosition());
-                float deltaTemp =
-                        ((((envTemperature - (envHumidity / 10)) - bodyTemperature.current) / 100000) * CHECK_INTERVAL);
-
-                //Send event for other systems to modify change in body temperature.
-                AffectBodyTemperatureEvent affectBodyTemperatureEvent = new AffectBodyTemperatureEvent(deltaTemp);
-                entity.send(affectBodyTemperatureEvent);
-                deltaTemp = affectBodyTemperatureEvent.getResultValueWithoutCapping();
-
-                //Check for change in body temperature levels.
-                float oldValue = bodyTemperature.current;
-                //Update current body temperature.
-                bodyTemperature.current = bodyTemperature.current + deltaTemp;
-                float newValue = bodyTemperature.current;
-                entity.saveComponent(bodyTemperature);
-                if (oldValue != newValue) {
-                    entity.send(new BodyTemperatureValueChangedEvent(oldValue, newValue));
+                if (bodyTemperature == null || !entity.hasComponent(AliveCharacterComponent.class)) {
+                    continue;
                 }
+                float deltaTemp = pendingBatch.getDelta(i);
+                if (bodyTemperature.current != pendingBatch.getCurrent(i)) {
+                    deltaTemp = integrateTemperatureChange(bodyTemperature.current,
+                            getTargetTemperature(pendingBatch.getEnvTemperature(i), pendingBatch.getEnvHumidity(i)),
+                            pendingBatch.getExposure(i), pendingBatch.getInterval(i));
+                }
+                applyUpdate(entity, bodyTemperature, pendingBatch, i, deltaTemp);
+            }
+            return pendingBatch.size();
+        } catch (CompletionException e) {
+            logger.error("Failed to compute body temperature update, skipping it", e);
+            return 0;
+        } finally {
+            pendingComputation = null;
+            pendingBatch.clear();
+        }
+    }
+
+    /**
+     * Applies the change of body temperature of an entity, after letting other systems modify it.
+     * <p>
+     * The modifiers are resolved into a factor on the rate at which the body temperature approaches its target, so the
+     * modified change is integrated exactly over the whole interval as well. The factors are cached per entity, only
+     * entities with a {@link DynamicBodyTemperatureModifiersComponent} get an {@link AffectBodyTemperatureEvent} on
+     * every update. The rate factor combines with the exposure of the entity, which is lower in shelters.
+     *
+     * @param updated the batch the entity was updated in, providing its environment, exposure and interval
+     * @param index the index of the entity in the batch
+     * @param deltaTemp the unmodified change of body temperature
+     */
+    private void applyUpdate(EntityRef entity, BodyTemperatureComponent bodyTemperature, BodyTemperatureBatch updated,
+                             int index, float deltaTemp) {
+        float envTemperature = updated.getEnvTemperature(index);
+        float targetTemperature = getTargetTemperature(envTemperature, updated.getEnvHumidity(index));
+        float exposure = updated.getExposure(index);
+        float modifiedDelta;
+        if (entity.hasComponent(DynamicBodyTemperatureModifiersComponent.class)) {
+            //Send event for other systems to modify change in body temperature.
+            AffectBodyTemperatureEvent affectBodyTemperatureEvent = new AffectBodyTemperatureEvent(deltaTemp);
+            entity.send(affectBodyTemperatureEvent);
+            modifiedDelta = affectBodyTemperatureEvent.getResultValueWithoutCapping();
+        } else {
+            modifiedDelta = deltaTemp * getModifiers(entity).getRate(deltaTemp);
+        }
+        // Modifiers reversing the change would drive the body temperature away from the target ever faster.
+        float rate = exposure * Math.max(0, deltaTemp != 0 ? modifiedDelta / deltaTemp : 1);
+        if (modifiedDelta != deltaTemp) {
+            modifiedDelta = integrateTemperatureChange(bodyTemperature.current, targetTemperature, rate,
+                    updated.getInterval(index));
+        }
 
-                //only for development purposes
-                if (Math.round(oldValue * 100) != Math.round(newValue * 100)) {
-                    entity.getOwner().send(new ChatMessageEvent("Body Temperature: " + bodyTemperature.current,
-                            entity.getOwner()));
-                    entity.getOwner().send(new ChatMessageEvent("Env Temperature: " + envTemperature,
-                            entity.getOwner()));
+        //Check for change in body temperature levels.
+        float oldValue = bodyTemperature.current;
+        float newValue = oldValue + modifiedDelta;
+        if (oldValue == newValue) {
+            return;
+        }
+        //Update current body temperature.
+        bodyTemperature.current = newValue;
+        if (!bodyTemperature.quantizedReplication) {
+            entity.saveComponent(bodyTemperature);
+        } else {
+            BodyTemperaturePredictionComponent prediction =
+                    entity.getComponent(BodyTemperaturePredictionComponent.class);
+            if (prediction == null || needsCorrection(newValue, prediction, time.getGameTimeInMs())) {
+                if (prediction == null) {
+                    prediction = new BodyTemperaturePredictionComponent();
                 }
+                // Restart the prediction, with the same approach as in this update from now on.
+                prediction.target = BodyTemperatureQuantization.quantize(targetTemperature);
+                prediction.rate = rate;
+                restartPrediction(entity, bodyTemperature, prediction);
             }
         }
+        if (isNotified(oldValue, newValue)) {
+            entity.send(new BodyTemperatureValueChangedEvent(oldValue, newValue));
+        }
+
+        if (telemetry.isActive()) {
+            telemetry.record(entity, newValue, modifiedDelta, envTemperature);
+        }
+    }
+
+    /**
+     * Returns whether the predicted body temperature deviates from the exact one by more than the replication epsilon
+     * at the given game time.
+     */
+    private boolean needsCorrection(float current, BodyTemperaturePredictionComponent prediction, long now) {
+        return Math.abs(current - BodyTemperaturePrediction.predict(prediction, now)) > replicationEpsilon;
+    }
+
+    /**
+     * Replicates the body temperature, saving either the body temperature component or, with quantized replication,
+     * the prediction restarted at the current value and level.
+     */
+    private void saveBodyTemperature(EntityRef entity, BodyTemperatureComponent bodyTemperature) {
+        if (!bodyTemperature.quantizedReplication) {
+            entity.saveComponent(bodyTemperature);
+            return;
+        }
+        BodyTemperaturePredictionComponent prediction = entity.getComponent(BodyTemperaturePredictionComponent.class);
+        restartPrediction(entity, bodyTemperature,
+                prediction != null ? prediction : new BodyTemperaturePredictionComponent());
+    }
+
+    /**
+     * Saves the prediction of an entity with quantized replication, starting at its current body temperature and level.
+     */
+    private void restartPrediction(EntityRef entity, BodyTemperatureComponent bodyTemperature,
+                                   BodyTemperaturePredictionComponent prediction) {
+        prediction.value = BodyTemperatureQuantization.quantize(bodyTemperature.current);
+        prediction.time = time.getGameTimeInMs();
+        prediction.level = bodyTemperature.currentLevel;
+        entity.addOrSaveComponent(prediction);
+    }
+
+    /**
+     * Returns the cached modifiers of an entity, resolving them by sending an {@link AffectBodyTemperatureEvent} for a
+     * rising and a falling body temperature if needed.
+     */
+    private ResolvedModifiers getModifiers(EntityRef entity) {
+        ResolvedModifiers resolved = modifiers.get(entity);
+        if (resolved == null) {
+            AffectBodyTemperatureEvent rising = new AffectBodyTemperatureEvent(1);
+            entity.send(rising);
+            AffectBodyTemperatureEvent falling = new AffectBodyTemperatureEvent(-1);
+            entity.send(falling);
+            resolved = new ResolvedModifiers(rising.getResultValueWithoutCapping(),
+                    -falling.getResultValueWithoutCapping());
+            modifiers.put(entity, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the body temperature approached in the given environment.
+     */
+    static float getTargetTemperature(float envTemperature, float envHumidity) {
+        return envTemperature - envHumidity / 10;
+    }
+
+    /**
+     * Returns the change in body temperature over the given interval.
+     * <p>
+     * The body temperature approaches the target exponentially, {@code dT/dt = rate * (target - T) / TIME_CONSTANT},
+     * which is solved exactly here. A single update over a long interval therefore ends at the same temperature as many
+     * short updates, and for short intervals the change matches the former linear step.
+     *
+     * @param current the current body temperature
+     * @param target the body temperature approached, see {@link #getTargetTemperature(float, float)}
+     * @param rate the factor on the speed of the approach, 1 without modifiers, must not be negative
+     * @param interval the length of the interval in milliseconds
+     */
+    static float integrateTemperatureChange(float current, float target, float rate, long interval) {
+        return (float) ((target - current) * -Math.expm1(-rate * interval / TIME_CONSTANT));
     }
 
     /**
      * Reacts to {@link BodyTemperatureValueChangedEvent} and modifies the body temperature level in case it needs to be
-     * changed.
+     * changed. The level thresholds are subscribed in {@link #initialise()}, so every level change is notified.
+     * <p>
+     * The level only changes once the body temperature passed a threshold by the configured hysteresis, so a body
+     * temperature oscillating around a threshold doesn't flip the level.
      */
     @ReceiveEvent
     public void onBodyTemperatureValueChanged(BodyTemperatureValueChangedEvent event, EntityRef player,
                                               BodyTemperatureComponent bodyTemperature) {
-        BodyTemperatureLevel before = checkBodyTemperatureLevel(event.getOldValue());
-        BodyTemperatureLevel after = checkBodyTemperatureLevel(event.getNewValue());
+        BodyTemperatureLevel before = bodyTemperature.currentLevel;
+        BodyTemperatureLevel after = levels.getLevel(event.getNewValue(), before);
         if (before != after) {
             bodyTemperature.currentLevel = after;
-            player.addOrSaveComponent(bodyTemperature);
+            saveBodyTemperature(player, bodyTemperature);
             player.send(new BodyTemperatureLevelChangedEvent(before, after));
         }
     }
 
     /**
      * Deals with addition and removal of Hypothermia and Hyperthermia Components.
+     * <p>
+     * Entities with a {@link ThermiaStateComponent} keep it instead, and it is updated in place.
      */
     @ReceiveEvent
     public void onBodyTemperatureLevelChanged(BodyTemperatureLevelChangedEvent event, EntityRef player) {
         int oldLevel = checkThermiaLevel(event.getOldValue());
         int newLevel = checkThermiaLevel(event.getNewValue());
+        ThermiaStateComponent thermiaState = player.getComponent(ThermiaStateComponent.class);
+        if (thermiaState != null) {
+            updateThermiaState(player, thermiaState, oldLevel, newLevel);
+            return;
+        }
         if (newLevel > 0) { // newLevel lies in the Hyperthermia range.
 
             if (oldLevel < 0) { // oldLevel lies in the Hypothermia range
@@ -153,6 +709,25 @@ public class BodyTemperatureSystem extends BaseComponentSystem {
         }
     }
 
+    /**
+     * Updates the persistent thermia state of an entity and notifies about the changed hypothermia and hyperthermia
+     * levels, like the transitions of the separate components do.
+     */
+    private void updateThermiaState(EntityRef player, ThermiaStateComponent thermiaState, int oldLevel, int newLevel) {
+        ThermiaEffects.apply(thermiaState, newLevel);
+        player.saveComponent(thermiaState);
+        if (oldLevel < 0 && newLevel >= 0) {
+            player.send(new HypothermiaLevelChangedEvent(-1 * oldLevel, 0));
+        } else if (oldLevel > 0 && newLevel <= 0) {
+            player.send(new HyperthermiaLevelChangedEvent(oldLevel, 0));
+        }
+        if (newLevel > 0) {
+            player.send(new HyperthermiaLevelChangedEvent(Math.max(oldLevel, 0), newLevel));
+        } else if (newLevel < 0) {
+            player.send(new HypothermiaLevelChangedEvent(Math.max(-1 * oldLevel, 0), -1 * newLevel));
+        }
+    }
+
     /**
      * Returns the Thermia level corresponding to the BodyTemperatureLevel.
      */
@@ -181,24 +756,10 @@ public class BodyTemperatureSystem extends BaseComponentSystem {
     }
 
     /**
-     * Returns the BodyTemperatureLevel corresponding to the body temperature value.
+     * Returns the BodyTemperatureLevel corresponding to the body temperature value, without hysteresis.
      */
     public BodyTemperatureLevel checkBodyTemperatureLevel(float temperature) {
-        if (temperature <= criticalLowBodyTemperatureThreshold) {
-            return BodyTemperatureLevel.CRITICAL_LOW;
-        } else if (temperature <= lowBodyTemperatureThreshold) {
-            return BodyTemperatureLevel.LOW;
-        } else if (temperature <= reducedBodyTemperatureThreshold) {
-            return BodyTemperatureLevel.REDUCED;
-        } else if (temperature < raisedBodyTemperatureThreshold) {
-            return BodyTemperatureLevel.NORMAL;
-        } else if (temperature < highBodyTemperatureThreshold) {
-            return BodyTemperatureLevel.RAISED;
-        } else if (temperature < criticalHighBodyTemperatureThreshold) {
-            return BodyTemperatureLevel.HIGH;
-        } else {
-            return BodyTemperatureLevel.CRITICAL_HIGH;
-        }
+        return levels.getLevel(temperature);
     }
 
     /**
@@ -208,7 +769,56 @@ public class BodyTemperatureSystem extends BaseComponentSystem {
     public void temperatureReset(PlayerDeathEvent event, EntityRef player, BodyTemperatureComponent bodyTemperature) {
         float oldTemperature = bodyTemperature.current;
         bodyTemperature.current = player.getParentPrefab().getComponent(BodyTemperatureComponent.class).current;
-        player.saveComponent(bodyTemperature);
+        saveBodyTemperature(player, bodyTemperature);
         player.send(new BodyTemperatureValueChangedEvent(oldTemperature, bodyTemperature.current));
     }
+
+    /**
+     * The factors by which the modifiers of an entity scale the change of its body temperature.
+     */
+    private static final class ResolvedModifiers {
+        private final float risingRate;
+        private final float fallingRate;
+
+        ResolvedModifiers(float risingRate, float fallingRate) {
+            this.risingRate = risingRate;
+            this.fallingRate = fallingRate;
+        }
+
+        float getRate(float deltaTemp) {
+            if (deltaTemp > 0) {
+                return risingRate;
+            }
+            return deltaTemp < 0 ? fallingRate : 1;
+        }
+    }
+
+    /**
+     * The environment last sampled for an entity, reused while the entity is updated at a reduced level of detail.
+     */
+    private static final class CachedEnvironment {
+        private final Vector3f position = new Vector3f();
+        private long sampleTime;
+        private boolean sampled;
+        /** Whether the last sample differed from the one before. */
+        private boolean changed = true;
+        private float temperature;
+        private float humidity;
+
+        /**
+         * Returns whether the cached sample can be reused for an entity at the given position.
+         */
+        boolean isValid(Vector3fc currentPosition, long now) {
+            return sampled && now - sampleTime < MAX_ENVIRONMENT_AGE
+                    && position.distanceSquared(currentPosition) < STATIONARY_DISTANCE * STATIONARY_DISTANCE;
+        }
+
+        void update(float newTemperature, float newHumidity) {
+            changed = !sampled || Math.abs(newTemperature - temperature) > ENVIRONMENT_EPSILON
+                    || Math.abs(newHumidity - humidity) > ENVIRONMENT_EPSILON;
+            temperature = newTemperature;
+            humidity = newHumidity;
+            sampled = true;
+        }
+    }
 }
@@ -0,0 +1,108 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import gnu.trove.map.TObjectLongMap;
+import gnu.trove.map.hash.TObjectLongHashMap;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.chat.ChatMessageEvent;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.Sender;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.network.ClientComponent;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+
+import java.util.Locale;
+
+/**
+ * Sends samples of the body and environment temperature of their character to the players who opted in.
+ * <p>
+ * Telemetry is toggled per player with the {@code bodyTemperatureTelemetry} command. Each subscriber receives at most
+ * one sample per {@link #SAMPLE_INTERVAL}, and all subscribers together at most {@link #MAX_SAMPLES_PER_SECOND}. Without
+ * subscribers {@link #isActive()} is false and nothing is recorded at all.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(BodyTemperatureTelemetrySystem.class)
+public class BodyTemperatureTelemetrySystem extends BaseComponentSystem {
+    /** The minimum real time in milliseconds between two samples sent to the same player. */
+    private static final int SAMPLE_INTERVAL = 2000;
+    /** The maximum number of samples sent to all players within a second. */
+    private static final int MAX_SAMPLES_PER_SECOND = 20;
+
+    @In
+    private Time time;
+
+    /** The clients subscribed to telemetry, with the time of the last sample sent to them. */
+    private final TObjectLongMap<EntityRef> subscribers = new TObjectLongHashMap<>();
+    private long windowStart;
+    private int samplesInWindow;
+
+    @Override
+    public void shutdown() {
+        subscribers.clear();
+    }
+
+    /**
+     * Returns whether any player is subscribed, so callers can skip recording altogether otherwise.
+     */
+    public boolean isActive() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Records a change of body temperature, sending a sample to the owner of the character if they are subscribed and
+     * the rate limits allow.
+     *
+     * @param character the character whose body temperature changed
+     * @param bodyTemperature the new body temperature
+     * @param deltaTemp the change of body temperature
+     * @param envTemperature the temperature of the environment of the character
+     */
+    public void record(EntityRef character, float bodyTemperature, float deltaTemp, float envTemperature) {
+        EntityRef client = character.getOwner();
+        if (!subscribers.containsKey(client)) {
+            return;
+        }
+        long now = time.getRealTimeInMs();
+        if (now - subscribers.get(client) < SAMPLE_INTERVAL) {
+            return;
+        }
+        if (now - windowStart >= 1000) {
+            windowStart = now;
+            samplesInWindow = 0;
+        }
+        if (samplesInWindow == MAX_SAMPLES_PER_SECOND) {
+            return;
+        }
+        samplesInWindow++;
+        subscribers.put(client, now);
+        client.send(new ChatMessageEvent(String.format(Locale.ROOT,
+                "[bodyTemperature] body=%.4f delta=%+.6f env=%.4f", bodyTemperature, deltaTemp, envTemperature),
+                client));
+    }
+
+    @ReceiveEvent(components = ClientComponent.class)
+    public void onClientDeactivated(BeforeDeactivateComponent event, EntityRef client) {
+        subscribers.remove(client);
+    }
+
+    @Command(shortDescription = "Toggle body temperature telemetry",
+            helpText = "Toggles receiving samples of the body and environment temperature of your character.",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String bodyTemperatureTelemetry(@Sender EntityRef client) {
+        if (subscribers.containsKey(client)) {
+            subscribers.remove(client);
+            return "Body temperature telemetry disabled";
+        }
+        // Zero is the initial "last sample" time, so the first sample is sent right away.
+        subscribers.put(client, 0);
+        return "Body temperature telemetry enabled";
+    }
+}
@@ -0,0 +1,36 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.terasology.gestalt.entitysystem.component.Component;
+
+/**
+ * Configures the body temperature values separating the {@link BodyTemperatureLevel}s.
+ * <p>
+ * Read by the {@link BodyTemperatureSystem} from the {@code ClimateConditions:BodyTemperatureThresholds} prefab. The low
+ * thresholds are inclusive upper bounds of their level, the high thresholds inclusive lower bounds of theirs.
+ */
+public class BodyTemperatureThresholdsComponent implements Component<BodyTemperatureThresholdsComponent> {
+    public float criticalLow = 0.17f;
+    public float low = 0.22f;
+    public float reduced = 0.3f;
+    public float raised = 0.5f;
+    public float high = 0.58f;
+    public float criticalHigh = 0.63f;
+    /**
+     * How far the body temperature has to pass a threshold before the level changes, so a body temperature oscillating
+     * around a threshold doesn't flip the level back and forth.
+     */
+    public float hysteresis = 0.005f;
+
+    @Override
+    public void copyFrom(BodyTemperatureThresholdsComponent other) {
+        this.criticalLow = other.criticalLow;
+        this.low = other.low;
+        this.reduced = other.reduced;
+        this.raised = other.raised;
+        this.high = other.high;
+        this.criticalHigh = other.criticalHigh;
+        this.hysteresis = other.hysteresis;
+    }
+}
@@ -10,6 +10,10 @@ import org.terasology.engine.entitySystem.event.BeforeAfterEvent;
  * Value. Changes in Body Temperature Value are also used to check if Body Temperature Level should be changed.
  * Body Temperature Levels corresponding to the Body Temperature Value ranges can be found in
  * {@link BodyTemperatureComponent}.
+ * <p>
+ * The event is only sent for changes crossing a threshold or change step subscribed with
+ * {@link BodyTemperatureSystem#addThreshold(float)} or {@link BodyTemperatureSystem#addChangeStep(float)}, and when the
+ * body temperature is reset.
  */
 public class BodyTemperatureValueChangedEvent extends BeforeAfterEvent<Float> {
     public BodyTemperatureValueChangedEvent(float oldValue, float newValue) {
@@ -0,0 +1,22 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.terasology.joml.geom.AABBfc;
+
+/**
+ * A {@link ConditionModifier} that only affects the conditions within a limited area.
+ * <p>
+ * The {@link ClimateConditionsSystem} skips the modifier for every point or region outside its bounds, so local
+ * modifiers, e.g. for biomes or structures, cost nothing elsewhere. Modifiers that do not implement this interface
+ * are applied everywhere.
+ */
+public interface BoundedConditionModifier extends ConditionModifier {
+    /**
+     * Returns the area this modifier affects. Values of points outside of it have to be returned unchanged.
+     * <p>
+     * The bounds are read once when the modifier is added, a modifier whose area changes has to be added again with
+     * the same order.
+     */
+    AABBfc getBounds();
+}
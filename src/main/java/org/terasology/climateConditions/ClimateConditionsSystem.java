@@ -5,24 +5,42 @@ package org.terasology.climateConditions;
 import com.google.common.base.Function;
 import com.google.common.collect.Maps;
 import org.joml.Vector3fc;
+import org.terasology.climateConditions.metrics.ClimateMetrics;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
 import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.math.TeraMath;
 
 import java.util.Map;
 
+/**
+ * Provides the temperature and humidity at any point of the world.
+ * <p>
+ * Conditions can be queried from any thread without locking, e.g. during world generation: the base fields and the
+ * modifier chains are published as immutable snapshots, which configuration and registration replace. The only
+ * exception are the optional base field tile caches, see {@link #setTileCacheBudget(long)}, which briefly lock on
+ * every lookup.
+ */
 @RegisterSystem(value = RegisterMode.AUTHORITY)
 @Share(value = ClimateConditionsSystem.class)
 public class ClimateConditionsSystem extends BaseComponentSystem {
     private final float minMultiplier = 0.0005f;
     private final float maxMultiplier = 0.01f;
 
-    private ConditionsBaseField temperatureBaseField;
-    private ConditionsBaseField humidityBaseField;
+    private volatile ConditionsBaseField temperatureBaseField;
+    private volatile ConditionsBaseField humidityBaseField;
 
-    private Map<Float, ConditionModifier> temperatureModifiers = Maps.newTreeMap();
-    private Map<Float, ConditionModifier> humidityModifiers = Maps.newTreeMap();
+    private final Map<Float, ConditionModifier> temperatureModifiers = Maps.newTreeMap();
+    private final Map<Float, ConditionModifier> humidityModifiers = Maps.newTreeMap();
+
+    /** The temperature modifiers in order, replaced whenever a modifier is added. */
+    private volatile ConditionModifierChain temperatureModifierChain = ConditionModifierChain.EMPTY;
+    /** The humidity modifiers in order, replaced whenever a modifier is added. */
+    private volatile ConditionModifierChain humidityModifierChain = ConditionModifierChain.EMPTY;
 
     private float temperatureMinimum;
     private float temperatureMaximum;
@@ -32,40 +50,129 @@ public class ClimateConditionsSystem extends BaseComponentSystem {
 
     private String worldSeed;
 
+    private long tileCacheBudget;
+
+    private final ClimateMetrics metrics = new ClimateMetrics();
+
     public void setWorldSeed(String worldSeed) {
         this.worldSeed = worldSeed;
     }
 
+    /**
+     * Sets the memory budget of the tile caches of the temperature and humidity base fields.
+     * <p>
+     * The budget applies to each field separately and also to fields configured later on. A budget of zero or less
+     * disables the caches. See {@link ConditionsBaseField#enableTileCache(long)} for the effect on sampling.
+     * <p>
+     * Unlike the rest of the queries, cached lookups are not lock-free: each briefly locks its cache to keep track of
+     * the least recently used tile. Missing tiles are computed outside the lock.
+     *
+     * @param memoryBudget the maximum number of bytes each field may spend on cached tiles
+     */
+    public void setTileCacheBudget(long memoryBudget) {
+        tileCacheBudget = memoryBudget;
+        configureTileCache(temperatureBaseField);
+        configureTileCache(humidityBaseField);
+    }
+
+    private void configureTileCache(ConditionsBaseField baseField) {
+        if (baseField == null) {
+            return;
+        }
+        if (tileCacheBudget > 0) {
+            baseField.enableTileCache(tileCacheBudget);
+        } else {
+            baseField.disableTileCache();
+        }
+    }
+
+    /**
+     * Adds a modifier to the temperature, replacing any modifier previously added with the same order.
+     * <p>
+     * Modifiers are applied in ascending order. Modifiers implementing {@link BoundedConditionModifier} are only
+     * applied within their bounds.
+     */
     public void addTemperatureModifier(float order, ConditionModifier temperatureModifier) {
-        temperatureModifiers.put(order, temperatureModifier);
+        synchronized (temperatureModifiers) {
+            temperatureModifiers.put(order, temperatureModifier);
+            temperatureModifierChain = new ConditionModifierChain(temperatureModifiers.values());
+        }
     }
 
+    /**
+     * Adds a modifier to the humidity, replacing any modifier previously added with the same order.
+     * <p>
+     * Modifiers are applied in ascending order. Modifiers implementing {@link BoundedConditionModifier} are only
+     * applied within their bounds.
+     */
     public void addHumidityModifier(float order, ConditionModifier humidityModifier) {
-        humidityModifiers.put(order, humidityModifier);
+        synchronized (humidityModifiers) {
+            humidityModifiers.put(order, humidityModifier);
+            humidityModifierChain = new ConditionModifierChain(humidityModifiers.values());
+        }
     }
 
-    public void configureTemperature(int seaLevel, int maxLevel, float diversity, Function<Float, Float> function,
-                                     float minimumValue, float maximumValue) {
+    /**
+     * Configures the base temperature field, shaping its noise with a primitive curve.
+     *
+     * @param seaLevel the height up to which the base temperature is not reduced by altitude
+     * @param maxLevel the height from which on the base temperature is zero
+     * @param diversity how quickly the temperature changes horizontally
+     * @param curve shapes the base noise, which is passed in normalized to [0, 1]
+     * @param minimumValue the temperature a base value of 0 maps to
+     * @param maximumValue the temperature a base value of 1 maps to
+     */
+    public void configureTemperatureCurve(int seaLevel, int maxLevel, float diversity, FloatCurve curve,
+                                          float minimumValue, float maximumValue) {
         int seed = worldSeed.hashCode();
 
         float noiseMultiplier = minMultiplier + (maxMultiplier - minMultiplier) * diversity;
 
-        temperatureBaseField = new ConditionsBaseField(seaLevel, maxLevel, noiseMultiplier, function, seed + 582374);
+        ConditionsBaseField baseField = new ConditionsBaseField(curve, seaLevel, maxLevel, noiseMultiplier, seed + 582374);
+        configureTileCache(baseField);
 
+        // The range is set before the field is published, so readers seeing the new field also see the new range
         temperatureMinimum = minimumValue;
         temperatureMaximum = maximumValue;
+        temperatureBaseField = baseField;
     }
 
-    public void configureHumidity(int seaLevel, int maxLevel, float diversity, Function<Float, Float> function,
-                                  float minimumValue, float maximumValue) {
+    /**
+     * Configures the base humidity field, see
+     * {@link #configureTemperatureCurve(int, int, float, FloatCurve, float, float)} for the parameters.
+     */
+    public void configureHumidityCurve(int seaLevel, int maxLevel, float diversity, FloatCurve curve,
+                                       float minimumValue, float maximumValue) {
         int seed = worldSeed.hashCode();
 
         float noiseMultiplier = minMultiplier + (maxMultiplier - minMultiplier) * diversity;
 
-        humidityBaseField = new ConditionsBaseField(seaLevel, maxLevel, noiseMultiplier, function, seed + 129534);
+        ConditionsBaseField baseField = new ConditionsBaseField(curve, seaLevel, maxLevel, noiseMultiplier, seed + 129534);
+        configureTileCache(baseField);
 
         humidityMinimum = minimumValue;
         humidityMaximum = maximumValue;
+        humidityBaseField = baseField;
+    }
+
+    /**
+     * @deprecated boxes every sample, use
+     *         {@link #configureTemperatureCurve(int, int, float, FloatCurve, float, float)} instead.
+     */
+    @Deprecated
+    public void configureTemperature(int seaLevel, int maxLevel, float diversity, Function<Float, Float> function,
+                                     float minimumValue, float maximumValue) {
+        configureTemperatureCurve(seaLevel, maxLevel, diversity, FloatCurve.of(function), minimumValue, maximumValue);
+    }
+
+    /**
+     * @deprecated boxes every sample, use
+     *         {@link #configureHumidityCurve(int, int, float, FloatCurve, float, float)} instead.
+     */
+    @Deprecated
+    public void configureHumidity(int seaLevel, int maxLevel, float diversity, Function<Float, Float> function,
+                                  float minimumValue, float maximumValue) {
+        configureHumidityCurve(seaLevel, maxLevel, diversity, FloatCurve.of(function), minimumValue, maximumValue);
     }
 
     public ConditionsBaseField getHumidityBaseField() {
@@ -76,30 +183,81 @@ public class ClimateConditionsSystem extends BaseComponentSystem {
         return temperatureBaseField;
     }
 
+    /**
+     * Returns the metrics recorded for the climate queries and the systems built on them. Recording is disabled until
+     * enabled explicitly, e.g. through the {@code climateMetrics} console command.
+     */
+    public ClimateMetrics getMetrics() {
+        return metrics;
+    }
+
     public float getTemperature(float x, float y, float z) {
+        long start = metrics.startTimer();
         float value = temperatureBaseField.get(x, y, z);
 
         value = temperatureMinimum + value * (temperatureMaximum - temperatureMinimum);
 
-        for (ConditionModifier temperatureModifier : temperatureModifiers.values()) {
-            value = temperatureModifier.getCondition(value, x, y, z);
-        }
-
+        value = temperatureModifierChain.apply(value, x, y, z);
+        metrics.recordQuery(ClimateMetrics.Query.TEMPERATURE, start);
         return value;
     }
 
     public float getHumidity(float x, float y, float z) {
+        long start = metrics.startTimer();
         float value = humidityBaseField.get(x, y, z);
 
         value = humidityMinimum + value * (humidityMaximum - humidityMinimum);
 
-        for (ConditionModifier humidityModifier : humidityModifiers.values()) {
-            value = humidityModifier.getCondition(value, x, y, z);
-        }
-
+        value = humidityModifierChain.apply(value, x, y, z);
+        metrics.recordQuery(ClimateMetrics.Query.HUMIDITY, start);
         return value;
     }
 
+    /**
+     * Samples the temperature and the humidity at the given point in one pass.
+     * <p>
+     * Yields the same values as {@link #getTemperature(float, float, float)} and
+     * {@link #getHumidity(float, float, float)}, but shares the work that both fields have in common, like the altitude
+     * attenuation when both fields use the same levels.
+     *
+     * @param out the holder to store the values in
+     * @return the given holder
+     */
+    public ConditionsSample getConditions(float x, float y, float z, ConditionsSample out) {
+        long start = metrics.startTimer();
+        ConditionsBaseField temperatureField = temperatureBaseField;
+        ConditionsBaseField humidityField = humidityBaseField;
+
+        float temperatureFactor = temperatureField.getAltitudeFactor(y);
+        float humidityFactor = temperatureField.hasSameAltitudeProfile(humidityField)
+            ? temperatureFactor : humidityField.getAltitudeFactor(y);
+        float temperature = getAttenuatedValue(temperatureField, temperatureFactor, x, z);
+        float humidity = getAttenuatedValue(humidityField, humidityFactor, x, z);
+
+        temperature = temperatureMinimum + temperature * (temperatureMaximum - temperatureMinimum);
+        humidity = humidityMinimum + humidity * (humidityMaximum - humidityMinimum);
+
+        out.temperature = temperatureModifierChain.apply(temperature, x, y, z);
+        out.humidity = humidityModifierChain.apply(humidity, x, y, z);
+        metrics.recordQuery(ClimateMetrics.Query.CONDITIONS, start);
+        return out;
+    }
+
+    public ConditionsSample getConditions(Vector3fc position, ConditionsSample out) {
+        return getConditions(position.x(), position.y(), position.z(), out);
+    }
+
+    private static float getAttenuatedValue(ConditionsBaseField field, float altitudeFactor, float x, float z) {
+        if (altitudeFactor == 0) {
+            return 0;
+        }
+        float value = field.getBaseValue(x, z);
+        if (altitudeFactor != 1) {
+            value *= altitudeFactor;
+        }
+        return TeraMath.clamp(value, 0, 1);
+    }
+
     public float getTemperature(Vector3fc position) {
         return getTemperature(position.x(), position.y(), position.z());
     }
@@ -108,6 +266,79 @@ public class ClimateConditionsSystem extends BaseComponentSystem {
         return getHumidity(position.x(), position.y(), position.z());
     }
 
+    /**
+     * Samples the temperature for every block of the given region into the given array.
+     * <p>
+     * The values are laid out with x varying fastest, then z, then y, i.e. the temperature of the block at (x, y, z)
+     * is stored at index {@code (x - minX) + sizeX * ((z - minZ) + sizeZ * (y - minY))}. Sampling a region this way
+     * evaluates the base noise only once per column and runs every modifier once over the whole array.
+     *
+     * @param region the region to sample
+     * @param out the array to fill, must hold at least {@code region.volume()} values
+     */
+    public void getTemperature(BlockRegionc region, float[] out) {
+        long start = metrics.startTimer();
+        temperatureBaseField.get(region, out);
+        applyModifiers(out, region, temperatureMinimum, temperatureMaximum, temperatureModifierChain);
+        metrics.recordQuery(ClimateMetrics.Query.TEMPERATURE_REGION, start);
+    }
+
+    /**
+     * Samples the humidity for every block of the given region into the given array.
+     * <p>
+     * The values are laid out as described in {@link #getTemperature(BlockRegionc, float[])}.
+     *
+     * @param region the region to sample
+     * @param out the array to fill, must hold at least {@code region.volume()} values
+     */
+    public void getHumidity(BlockRegionc region, float[] out) {
+        long start = metrics.startTimer();
+        humidityBaseField.get(region, out);
+        applyModifiers(out, region, humidityMinimum, humidityMaximum, humidityModifierChain);
+        metrics.recordQuery(ClimateMetrics.Query.HUMIDITY_REGION, start);
+    }
+
+    /**
+     * Samples the temperature for a grid of columns at the given height.
+     * <p>
+     * The x and y axes of the area map to the x and z world axes. The values are laid out with x varying fastest.
+     *
+     * @param area the columns to sample
+     * @param y the height to sample the columns at
+     * @param out the array to fill, must hold at least {@code area.area()} values
+     */
+    public void getTemperature(BlockAreac area, int y, float[] out) {
+        getTemperature(toRegion(area, y), out);
+    }
+
+    /**
+     * Samples the humidity for a grid of columns at the given height.
+     * <p>
+     * The x and y axes of the area map to the x and z world axes. The values are laid out with x varying fastest.
+     *
+     * @param area the columns to sample
+     * @param y the height to sample the columns at
+     * @param out the array to fill, must hold at least {@code area.area()} values
+     */
+    public void getHumidity(BlockAreac area, int y, float[] out) {
+        getHumidity(toRegion(area, y), out);
+    }
+
+    private void applyModifiers(float[] values, BlockRegionc region, float minimum, float maximum,
+                                ConditionModifierChain modifiers) {
+        int volume = region.volume();
+        float range = maximum - minimum;
+        for (int i = 0; i < volume; i++) {
+            values[i] = minimum + values[i] * range;
+        }
+
+        modifiers.apply(values, region);
+    }
+
+    private static BlockRegion toRegion(BlockAreac area, int y) {
+        return new BlockRegion(area.minX(), y, area.minY(), area.maxX(), y, area.maxY());
+    }
+
     public String getWorldSeed() {
         return worldSeed;
     }
@@ -0,0 +1,502 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import com.google.common.collect.Maps;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.climateConditions.metrics.ClimateMetrics;
+import org.terasology.math.TeraMath;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Spatial index of the block based generators of one condition, e.g. heaters for the temperature.
+ * <p>
+ * The world is divided into cubic cells and every generator is registered in all cells its maximum range overlaps.
+ * A query therefore only visits the generators that can reach the queried point, and adding or removing a generator
+ * only touches the cells within its own range, regardless of how many generators there are.
+ * <p>
+ * Optionally, the combined effect of the generators can be baked into sparse per-cell influence grids, see
+ * {@link #setInfluenceGridsEnabled(boolean)}. At most {@link #MAX_INFLUENCE_GRIDS} grids are kept, the least recently
+ * queried are dropped first.
+ * <p>
+ * Queries are safe from any thread and never block without influence grids: the cells are immutable and spread over
+ * {@link #SEGMENTS} segments of primitive maps, published copy-on-write. A modification copies only the segments of the
+ * cells within the generator's range and replaces the affected cells in the copies. Queries using influence grids
+ * briefly lock the bookkeeping of the least recently used grids; missing grids are built outside the lock, so
+ * concurrent queries of the same cell may rarely build its grid twice.
+ */
+class ConditionGeneratorIndex {
+    private static final int CELL_POWER = 4;
+    private static final int CELL_SIZE = 1 << CELL_POWER;
+    private static final int CELL_MASK = CELL_SIZE - 1;
+    private static final int KEY_BITS = 21;
+    private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+    private static final Generator[] NO_GENERATORS = new Generator[0];
+    /** The maximum number of influence grids kept, each taking at least 16 KiB. */
+    static final int MAX_INFLUENCE_GRIDS = 512;
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    /** The bits of a cell key dropped to get its region, the cells of a region of 4x4x4 cells share a segment. */
+    private static final long REGION_MASK = (3L << (2 * KEY_BITS)) | (3L << KEY_BITS) | 3L;
+
+    /** The registered generators by position, only accessed while holding the lock of this index. */
+    private final Map<Vector3ic, Generator> generators = Maps.newHashMap();
+    /**
+     * The cells with at least one generator by key, split into segments by {@link #toSegment(long)}. Neither the
+     * segments nor the cells are modified once published.
+     */
+    private volatile TLongObjectMap<Cell>[] segments = createSegments();
+    private volatile boolean influenceGridsEnabled;
+    /** The cells with an influence grid by key, guarded by itself like the eviction list. */
+    private final TLongObjectMap<Cell> gridCells = new TLongObjectHashMap<>();
+    /** The cell with the most recently queried influence grid, the head of the eviction list. */
+    private Cell gridHead;
+    /** The cell with the least recently queried influence grid, evicted first. */
+    private Cell gridTail;
+    private volatile ClimateMetrics metrics;
+
+    /**
+     * Sets the metrics to record the number of generators evaluated per query in.
+     */
+    void setMetrics(ClimateMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Enables or disables the precomputed influence grids.
+     * <p>
+     * With influence grids enabled, the weight of every generator is precomputed for every block of a cell the first
+     * time the cell is queried, so a query only has to blend the precomputed weights instead of computing distances
+     * and falloffs. Queries are answered at block resolution: a point gets the influence computed for the center of
+     * the block containing it. Adding, changing or removing a generator only invalidates the grids of the cells
+     * within its range.
+     */
+    synchronized void setInfluenceGridsEnabled(boolean enabled) {
+        if (influenceGridsEnabled == enabled) {
+            return;
+        }
+        influenceGridsEnabled = enabled;
+        if (!enabled) {
+            synchronized (gridCells) {
+                for (Cell cell = gridHead; cell != null; cell = cell.nextGrid) {
+                    cell.influenceGrid = null;
+                }
+                gridCells.clear();
+                gridHead = null;
+                gridTail = null;
+            }
+        }
+    }
+
+    boolean isInfluenceGridsEnabled() {
+        return influenceGridsEnabled;
+    }
+
+    /**
+     * Adds a generator at the given block position, replacing any generator previously registered there.
+     *
+     * @param position the block position of the generator
+     * @param target the condition value the generator moves towards
+     * @param flatRange the distance up to which the condition is set to the target value
+     * @param maxRange the distance from which on the generator has no effect
+     * @param raising whether the generator only raises the condition, otherwise it only lowers it
+     */
+    synchronized void put(Vector3ic position, float target, float flatRange, float maxRange, boolean raising) {
+        TLongObjectMap<Cell>[] modified = segments.clone();
+        Generator previous = generators.remove(new Vector3i(position));
+        if (previous != null) {
+            removeFromCells(previous, modified);
+        }
+        Generator generator = new Generator(position, target, flatRange, maxRange, raising);
+        generators.put(new Vector3i(position), generator);
+        forEachCell(generator, key -> {
+            dropInfluenceGrid(key);
+            TLongObjectMap<Cell> segment = getModifiableSegment(modified, key);
+            Cell cell = segment.get(key);
+            if (cell == null) {
+                segment.put(key, new Cell(key, new Generator[]{generator}));
+            } else {
+                Generator[] extended = Arrays.copyOf(cell.generators, cell.generators.length + 1);
+                extended[cell.generators.length] = generator;
+                segment.put(key, new Cell(key, extended));
+            }
+        });
+        segments = modified;
+    }
+
+    /**
+     * Removes the generator at the given block position, if any.
+     */
+    synchronized void remove(Vector3ic position) {
+        Generator generator = generators.remove(new Vector3i(position));
+        if (generator == null) {
+            return;
+        }
+        TLongObjectMap<Cell>[] modified = segments.clone();
+        removeFromCells(generator, modified);
+        segments = modified;
+    }
+
+    synchronized int size() {
+        return generators.size();
+    }
+
+    /**
+     * Applies the generators that can reach the given point to a condition value.
+     *
+     * @param baseValue the condition value without the generators
+     * @return the condition value with the effect of the generators applied
+     */
+    float getValue(float baseValue, float x, float y, float z) {
+        if (influenceGridsEnabled) {
+            return getValueFromInfluenceGrid(baseValue, x, y, z);
+        }
+        Generator[] generatorsInCell = getCell(x, y, z);
+        recordLookup(generatorsInCell.length);
+        float value = baseValue;
+        for (Generator generator : generatorsInCell) {
+            value = generator.apply(value, x, y, z);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the generators registered in the cell containing the given point.
+     */
+    Generator[] getCell(float x, float y, float z) {
+        Cell cell = getCell(toKey(TeraMath.floorToInt(x) >> CELL_POWER, TeraMath.floorToInt(y) >> CELL_POWER,
+            TeraMath.floorToInt(z) >> CELL_POWER));
+        return cell != null ? cell.generators : NO_GENERATORS;
+    }
+
+    private float getValueFromInfluenceGrid(float baseValue, float x, float y, float z) {
+        int blockX = Math.round(x);
+        int blockY = Math.round(y);
+        int blockZ = Math.round(z);
+        int cellX = blockX >> CELL_POWER;
+        int cellY = blockY >> CELL_POWER;
+        int cellZ = blockZ >> CELL_POWER;
+        long key = toKey(cellX, cellY, cellZ);
+        Cell cell = getCell(key);
+        if (cell == null) {
+            recordLookup(0);
+            return baseValue;
+        }
+        InfluenceGrid grid = cell.influenceGrid;
+        if (grid == null) {
+            grid = new InfluenceGrid(cell.generators, cellX << CELL_POWER, cellY << CELL_POWER, cellZ << CELL_POWER);
+        }
+        synchronized (gridCells) {
+            grid = markGridUsed(cell, grid);
+        }
+        int index = InfluenceGrid.toIndex(blockX & CELL_MASK, blockY & CELL_MASK, blockZ & CELL_MASK);
+        recordLookup(grid.getInfluenceCount(index));
+        return grid.apply(baseValue, index);
+    }
+
+    private void recordLookup(int scanned) {
+        ClimateMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            currentMetrics.recordGeneratorLookup(scanned);
+        }
+    }
+
+    /**
+     * Marks the influence grid of the given cell as most recently used, adding the given grid if the cell has none,
+     * and returns the grid of the cell. Only called while holding the lock of the grid cells.
+     */
+    private InfluenceGrid markGridUsed(Cell cell, InfluenceGrid grid) {
+        if (cell.influenceGrid != null) {
+            if (cell != gridHead) {
+                unlinkGrid(cell);
+                linkGridFirst(cell);
+            }
+            return cell.influenceGrid;
+        }
+        cell.influenceGrid = grid;
+        // Replaces the entry of a cell replaced since it was queried
+        Cell previous = gridCells.put(cell.key, cell);
+        if (previous != null) {
+            previous.influenceGrid = null;
+            unlinkGrid(previous);
+        }
+        linkGridFirst(cell);
+        if (gridCells.size() > MAX_INFLUENCE_GRIDS) {
+            Cell eldest = gridTail;
+            gridCells.remove(eldest.key);
+            eldest.influenceGrid = null;
+            unlinkGrid(eldest);
+        }
+        return grid;
+    }
+
+    /**
+     * Drops the influence grid of the cell with the given key, which is about to be replaced or removed.
+     */
+    private void dropInfluenceGrid(long key) {
+        synchronized (gridCells) {
+            Cell cell = gridCells.remove(key);
+            if (cell != null) {
+                cell.influenceGrid = null;
+                unlinkGrid(cell);
+            }
+        }
+    }
+
+    private void linkGridFirst(Cell cell) {
+        cell.previousGrid = null;
+        cell.nextGrid = gridHead;
+        if (gridHead != null) {
+            gridHead.previousGrid = cell;
+        }
+        gridHead = cell;
+        if (gridTail == null) {
+            gridTail = cell;
+        }
+    }
+
+    private void unlinkGrid(Cell cell) {
+        if (cell.previousGrid != null) {
+            cell.previousGrid.nextGrid = cell.nextGrid;
+        } else {
+            gridHead = cell.nextGrid;
+        }
+        if (cell.nextGrid != null) {
+            cell.nextGrid.previousGrid = cell.previousGrid;
+        } else {
+            gridTail = cell.previousGrid;
+        }
+        cell.previousGrid = null;
+        cell.nextGrid = null;
+    }
+
+    private void removeFromCells(Generator generator, TLongObjectMap<Cell>[] modified) {
+        forEachCell(generator, key -> {
+            dropInfluenceGrid(key);
+            Cell cell = modified[toSegment(key)].get(key);
+            if (cell == null) {
+                return;
+            }
+            TLongObjectMap<Cell> segment = getModifiableSegment(modified, key);
+            if (cell.generators.length == 1) {
+                segment.remove(key);
+            } else {
+                Generator[] reduced = new Generator[cell.generators.length - 1];
+                int index = 0;
+                for (Generator other : cell.generators) {
+                    if (other != generator) {
+                        reduced[index++] = other;
+                    }
+                }
+                segment.put(key, new Cell(key, reduced));
+            }
+        });
+    }
+
+    private Cell getCell(long key) {
+        return segments[toSegment(key)].get(key);
+    }
+
+    /**
+     * Returns the segment of the given cell key in the segments about to be published, copying the published segment
+     * on first access.
+     */
+    private TLongObjectMap<Cell> getModifiableSegment(TLongObjectMap<Cell>[] modified, long key) {
+        int segment = toSegment(key);
+        if (modified[segment] == segments[segment]) {
+            modified[segment] = new TLongObjectHashMap<>(segments[segment]);
+        }
+        return modified[segment];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TLongObjectMap<Cell>[] createSegments() {
+        TLongObjectMap<Cell>[] segments = new TLongObjectMap[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new TLongObjectHashMap<>();
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the segment of a cell key. Cells of the same region share a segment, so a modification usually only
+     * copies a few segments, and the regions are spread over the segments by a multiplicative hash.
+     */
+    private static int toSegment(long key) {
+        return (int) (((key & ~REGION_MASK) * 0x9E3779B97F4A7C15L) >>> (64 - SEGMENT_BITS));
+    }
+
+    private static void forEachCell(Generator generator, CellConsumer consumer) {
+        float reach = Math.max(generator.flatRange, generator.maxRange);
+        if (!(reach >= 0)) {
+            return;
+        }
+        int range = (int) Math.ceil(reach);
+        int minX = (generator.x - range) >> CELL_POWER;
+        int minY = (generator.y - range) >> CELL_POWER;
+        int minZ = (generator.z - range) >> CELL_POWER;
+        int maxX = (generator.x + range) >> CELL_POWER;
+        int maxY = (generator.y + range) >> CELL_POWER;
+        int maxZ = (generator.z + range) >> CELL_POWER;
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellY = minY; cellY <= maxY; cellY++) {
+                for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                    consumer.accept(toKey(cellX, cellY, cellZ));
+                }
+            }
+        }
+    }
+
+    private static long toKey(int cellX, int cellY, int cellZ) {
+        return ((cellX & KEY_MASK) << (2 * KEY_BITS)) | ((cellY & KEY_MASK) << KEY_BITS) | (cellZ & KEY_MASK);
+    }
+
+    @FunctionalInterface
+    private interface CellConsumer {
+        void accept(long key);
+    }
+
+    /**
+     * The generators registered in one cell. Replaced instead of modified when the generators change, which also
+     * discards its influence grid.
+     */
+    private static final class Cell {
+        private final long key;
+        private final Generator[] generators;
+        /**
+         * The precomputed influences, if built and not evicted since. Written while holding the lock of the grid cells
+         * of the index, like the links of the eviction list.
+         */
+        private volatile InfluenceGrid influenceGrid;
+        private Cell previousGrid;
+        private Cell nextGrid;
+
+        private Cell(long key, Generator[] generators) {
+            this.key = key;
+            this.generators = generators;
+        }
+    }
+
+    /**
+     * A single generator, immutable once registered.
+     */
+    static final class Generator {
+        final int x;
+        final int y;
+        final int z;
+        final float target;
+        final float flatRange;
+        final float maxRange;
+        final boolean raising;
+
+        Generator(Vector3ic position, float target, float flatRange, float maxRange, boolean raising) {
+            this.x = position.x();
+            this.y = position.y();
+            this.z = position.z();
+            this.target = target;
+            this.flatRange = flatRange;
+            this.maxRange = maxRange;
+            this.raising = raising;
+        }
+
+        /**
+         * Applies this generator to a condition value at the given point.
+         */
+        float apply(float value, float px, float py, float pz) {
+            if (affects(value)) {
+                double weight = getWeight(px, py, pz);
+                if (weight >= 1) {
+                    return target;
+                } else if (weight > 0) {
+                    return value + (float) ((target - value) * weight);
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Returns whether this generator moves the given value towards its target at all.
+         */
+        boolean affects(float value) {
+            return (target > value && raising) || (target < value && !raising);
+        }
+
+        /**
+         * Returns how far a value at the given point is moved towards the target, from 0 (not at all) to 1 (set to the
+         * target).
+         */
+        double getWeight(float px, float py, float pz) {
+            float distance = Vector3f.distance(x, y, z, px, py, pz);
+            if (distance <= flatRange) {
+                return 1;
+            } else if (distance < maxRange) {
+                float distanceFactor = 1f - (distance - flatRange) / (maxRange - flatRange);
+                return Math.pow(distanceFactor, 1 / 3f);
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * The precomputed generator weights for the blocks of one cell.
+     * <p>
+     * Every block affected by at least one generator stores pairs of the target value and the weight of the
+     * generator. The weight is negated for generators that only lower the condition.
+     */
+    private static final class InfluenceGrid {
+        private final float[][] blocks = new float[CELL_SIZE * CELL_SIZE * CELL_SIZE][];
+
+        private InfluenceGrid(Generator[] generators, int minX, int minY, int minZ) {
+            float[] influences = new float[2 * generators.length];
+            for (int y = 0; y < CELL_SIZE; y++) {
+                for (int z = 0; z < CELL_SIZE; z++) {
+                    for (int x = 0; x < CELL_SIZE; x++) {
+                        int count = 0;
+                        for (Generator generator : generators) {
+                            float weight = (float) generator.getWeight(minX + x, minY + y, minZ + z);
+                            if (weight > 0) {
+                                influences[count++] = generator.target;
+                                influences[count++] = generator.raising ? weight : -weight;
+                            }
+                        }
+                        if (count > 0) {
+                            blocks[toIndex(x, y, z)] = Arrays.copyOf(influences, count);
+                        }
+                    }
+                }
+            }
+        }
+
+        private int getInfluenceCount(int index) {
+            float[] influences = blocks[index];
+            return influences != null ? influences.length / 2 : 0;
+        }
+
+        private float apply(float baseValue, int index) {
+            float[] influences = blocks[index];
+            if (influences == null) {
+                return baseValue;
+            }
+            float value = baseValue;
+            for (int i = 0; i < influences.length; i += 2) {
+                float target = influences[i];
+                float weight = influences[i + 1];
+                boolean raising = weight > 0;
+                if ((target > value && raising) || (target < value && !raising)) {
+                    value = Math.abs(weight) >= 1 ? target : value + (target - value) * Math.abs(weight);
+                }
+            }
+            return value;
+        }
+
+        private static int toIndex(int x, int y, int z) {
+            return x + CELL_SIZE * (z + CELL_SIZE * y);
+        }
+    }
+}
@@ -2,6 +2,30 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.climateConditions;
 
+import org.terasology.engine.world.block.BlockRegionc;
+
 public interface ConditionModifier {
     float getCondition(float value, float x, float y, float z);
+
+    /**
+     * Modifies the condition values sampled for a whole region in place.
+     * <p>
+     * The values are laid out as described in {@link ClimateConditionsSystem#getTemperature(BlockRegionc, float[])}.
+     * Modifiers that can share work between neighbouring blocks should override this, the default implementation
+     * simply calls {@link #getCondition(float, float, float, float)} for every block.
+     *
+     * @param values the values to modify, one per block of the region
+     * @param region the region the values were sampled for
+     */
+    default void getConditions(float[] values, BlockRegionc region) {
+        int index = 0;
+        for (int y = region.minY(); y <= region.maxY(); y++) {
+            for (int z = region.minZ(); z <= region.maxZ(); z++) {
+                for (int x = region.minX(); x <= region.maxX(); x++) {
+                    values[index] = getCondition(values[index], x, y, z);
+                    index++;
+                }
+            }
+        }
+    }
 }
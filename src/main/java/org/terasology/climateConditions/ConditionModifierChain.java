@@ -0,0 +1,109 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.joml.geom.AABBfc;
+
+import java.util.Collection;
+
+/**
+ * An immutable, ordered chain of {@link ConditionModifier}s with the bounds of {@link BoundedConditionModifier}s
+ * flattened into arrays, so that modifiers can be culled without calling into them.
+ */
+final class ConditionModifierChain {
+    static final ConditionModifierChain EMPTY = new ConditionModifierChain(new ConditionModifier[0]);
+
+    private final ConditionModifier[] modifiers;
+    private final boolean[] bounded;
+    private final float[] minX;
+    private final float[] minY;
+    private final float[] minZ;
+    private final float[] maxX;
+    private final float[] maxY;
+    private final float[] maxZ;
+
+    ConditionModifierChain(Collection<ConditionModifier> modifiers) {
+        this(modifiers.toArray(new ConditionModifier[0]));
+    }
+
+    private ConditionModifierChain(ConditionModifier[] modifiers) {
+        int count = modifiers.length;
+        this.modifiers = modifiers;
+        bounded = new boolean[count];
+        minX = new float[count];
+        minY = new float[count];
+        minZ = new float[count];
+        maxX = new float[count];
+        maxY = new float[count];
+        maxZ = new float[count];
+        for (int i = 0; i < count; i++) {
+            if (modifiers[i] instanceof BoundedConditionModifier) {
+                AABBfc bounds = ((BoundedConditionModifier) modifiers[i]).getBounds();
+                bounded[i] = true;
+                minX[i] = bounds.minX();
+                minY[i] = bounds.minY();
+                minZ[i] = bounds.minZ();
+                maxX[i] = bounds.maxX();
+                maxY[i] = bounds.maxY();
+                maxZ[i] = bounds.maxZ();
+            }
+        }
+    }
+
+    /**
+     * Applies the modifiers affecting the given point in order.
+     */
+    float apply(float value, float x, float y, float z) {
+        float result = value;
+        for (int i = 0; i < modifiers.length; i++) {
+            if (!bounded[i] || contains(i, x, y, z)) {
+                result = modifiers[i].getCondition(result, x, y, z);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies the modifiers affecting the given region in order to the values sampled for it.
+     * <p>
+     * Bounded modifiers only partially covering the region are only called for the blocks within their bounds.
+     */
+    void apply(float[] values, BlockRegionc region) {
+        for (int i = 0; i < modifiers.length; i++) {
+            if (!bounded[i]) {
+                modifiers[i].getConditions(values, region);
+                continue;
+            }
+            int fromX = Math.max(region.minX(), (int) Math.ceil(minX[i]));
+            int fromY = Math.max(region.minY(), (int) Math.ceil(minY[i]));
+            int fromZ = Math.max(region.minZ(), (int) Math.ceil(minZ[i]));
+            int toX = Math.min(region.maxX(), (int) Math.floor(maxX[i]));
+            int toY = Math.min(region.maxY(), (int) Math.floor(maxY[i]));
+            int toZ = Math.min(region.maxZ(), (int) Math.floor(maxZ[i]));
+            if (fromX > toX || fromY > toY || fromZ > toZ) {
+                continue;
+            }
+            if (fromX == region.minX() && fromY == region.minY() && fromZ == region.minZ()
+                && toX == region.maxX() && toY == region.maxY() && toZ == region.maxZ()) {
+                modifiers[i].getConditions(values, region);
+                continue;
+            }
+            int sizeX = region.getSizeX();
+            int sizeZ = region.getSizeZ();
+            for (int y = fromY; y <= toY; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    int index = (fromX - region.minX()) + sizeX * ((z - region.minZ()) + sizeZ * (y - region.minY()));
+                    for (int x = fromX; x <= toX; x++) {
+                        values[index] = modifiers[i].getCondition(values[index], x, y, z);
+                        index++;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean contains(int i, float x, float y, float z) {
+        return x >= minX[i] && x <= maxX[i] && y >= minY[i] && y <= maxY[i] && z >= minZ[i] && z <= maxZ[i];
+    }
+}
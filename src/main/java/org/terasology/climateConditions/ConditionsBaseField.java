@@ -5,6 +5,7 @@ package org.terasology.climateConditions;
 import com.google.common.base.Function;
 import org.terasology.engine.utilities.procedural.Noise2D;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.math.TeraMath;
 
 public class ConditionsBaseField {
@@ -12,31 +13,143 @@ public class ConditionsBaseField {
     private int seaLevel;
     private int maxLevel;
     private float noiseMultiplier;
-    private Function<Float, Float> function;
+    private FloatCurve curve;
+    private volatile BaseFieldTileCache tileCache;
 
-    public ConditionsBaseField(int seaLevel, int maxLevel, float noiseMultiplier,
-                               Function<Float, Float> function, long conditionSeed) {
+    /**
+     * Creates a field whose base noise is shaped by the given curve.
+     * <p>
+     * The curve comes first, so calls passing a lambda to the deprecated constructor remain unambiguous.
+     */
+    public ConditionsBaseField(FloatCurve curve, int seaLevel, int maxLevel, float noiseMultiplier,
+                               long conditionSeed) {
         this.seaLevel = seaLevel;
         this.maxLevel = maxLevel;
         this.noiseMultiplier = noiseMultiplier;
-        this.function = function;
+        this.curve = curve;
         noiseTable = new SimplexNoise(conditionSeed);
     }
 
+    /**
+     * @deprecated boxes every sample, use {@link #ConditionsBaseField(FloatCurve, int, int, float, long)} instead.
+     */
+    @Deprecated
+    public ConditionsBaseField(int seaLevel, int maxLevel, float noiseMultiplier,
+                               Function<Float, Float> function, long conditionSeed) {
+        this(FloatCurve.of(function), seaLevel, maxLevel, noiseMultiplier, conditionSeed);
+    }
+
+    /**
+     * Enables caching of the base noise in tiles of one chunk column each.
+     * <p>
+     * With the cache enabled a query only costs a lookup plus the altitude scale, but points are sampled at block
+     * resolution: a query is answered with the value of the block column containing the point. Calling this again
+     * replaces the cache with an empty one using the new budget.
+     *
+     * @param memoryBudget the maximum number of bytes to spend on cached tiles, the least recently used tiles are
+     *         evicted once it is exceeded
+     */
+    public void enableTileCache(long memoryBudget) {
+        tileCache = new BaseFieldTileCache(this::computeBaseValue, memoryBudget);
+    }
+
+    /**
+     * Disables the tile cache and releases all cached tiles, queries are computed from the noise again.
+     */
+    public void disableTileCache() {
+        tileCache = null;
+    }
+
+    public boolean isTileCacheEnabled() {
+        return tileCache != null;
+    }
+
     public float get(float x, float y, float z) {
         return TeraMath.clamp(getConditionAlpha(x, y, z), 0, 1);
     }
 
+    /**
+     * Samples the field for every block of the given region.
+     * <p>
+     * The noise only depends on the x and z coordinates, so it is evaluated once per column of the region and then
+     * scaled for every height level. The values are laid out with x varying fastest, then z, then y.
+     *
+     * @param region the region to sample
+     * @param out the array to fill, must hold at least one value per block of the region
+     */
+    public void get(BlockRegionc region, float[] out) {
+        int layerSize = region.getSizeX() * region.getSizeZ();
+        int sizeY = region.getSizeY();
+        if (out.length < layerSize * sizeY) {
+            throw new IllegalArgumentException("Output array too small for region: " + out.length);
+        }
+
+        // The base values of the columns are kept in the bottom layer, so the layers are filled from the top down
+        int index = 0;
+        BaseFieldTileCache cache = tileCache;
+        for (int z = region.minZ(); z <= region.maxZ(); z++) {
+            for (int x = region.minX(); x <= region.maxX(); x++) {
+                out[index++] = cache != null ? cache.get(x, z) : computeBaseValue(x, z);
+            }
+        }
+        for (int layer = sizeY - 1; layer >= 0; layer--) {
+            float y = region.minY() + layer;
+            int offset = layer * layerSize;
+            for (int i = 0; i < layerSize; i++) {
+                out[offset + i] = TeraMath.clamp(applyAltitude(out[i], y), 0, 1);
+            }
+        }
+    }
+
     private float getConditionAlpha(float x, float y, float z) {
+        return applyAltitude(getBaseValue(x, z), y);
+    }
+
+    /**
+     * Returns the value of the field at sea level, before it is clamped.
+     */
+    float getBaseValue(float x, float z) {
+        BaseFieldTileCache cache = tileCache;
+        if (cache != null) {
+            return cache.get(Math.round(x), Math.round(z));
+        }
+        return computeBaseValue(x, z);
+    }
+
+    private float computeBaseValue(float x, float z) {
         float result = noiseTable.noise(x * noiseMultiplier, z * noiseMultiplier);
-        float temperatureBase = function.apply(TeraMath.clamp((result + 1.0f) / 2.0f));
+        return curve.apply(TeraMath.clamp((result + 1.0f) / 2.0f));
+    }
+
+    private float applyAltitude(float temperatureBase, float y) {
         if (y <= seaLevel) {
             return temperatureBase;
         } else if (y >= maxLevel) {
             return 0;
         } else {
             // The higher above see level - the colder
-            return temperatureBase * (1f * (maxLevel - y) / (maxLevel - seaLevel));
+            return temperatureBase * getAltitudeFactor(y);
         }
     }
+
+    /**
+     * Returns the factor the base value is scaled with at the given height, from 1 at sea level to 0 at the maximum
+     * level.
+     */
+    float getAltitudeFactor(float y) {
+        if (y <= seaLevel) {
+            return 1;
+        } else if (y >= maxLevel) {
+            return 0;
+        } else {
+            return 1f * (maxLevel - y) / (maxLevel - seaLevel);
+        }
+    }
+
+    /**
+     * Returns whether the other field scales its base value with the altitude in the same way as this field.
+     */
+    boolean hasSameAltitudeProfile(ConditionsBaseField other) {
+        return seaLevel == other.seaLevel && maxLevel == other.maxLevel;
+    }
 }
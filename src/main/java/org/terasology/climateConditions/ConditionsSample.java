@@ -0,0 +1,14 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+/**
+ * Holds the temperature and humidity sampled at a single point, see
+ * {@link ClimateConditionsSystem#getConditions(float, float, float, ConditionsSample)}.
+ * <p>
+ * Meant to be reused by the caller, so that sampling does not allocate.
+ */
+public class ConditionsSample {
+    public float temperature;
+    public float humidity;
+}
@@ -0,0 +1,19 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.terasology.gestalt.entitysystem.component.Component;
+
+/**
+ * Marks entities whose changes of body temperature are modified dynamically.
+ * <p>
+ * The {@link BodyTemperatureSystem} resolves the {@link AffectBodyTemperatureEvent} modifiers of an entity once and
+ * reuses them until its {@link org.terasology.climateConditions.alterationEffects.AffectBodyTemperatureComponent}
+ * changes. Systems that modify the change based on anything else, or that add to it instead of multiplying it, have
+ * to add this component so the event is sent on every update.
+ */
+public class DynamicBodyTemperatureModifiersComponent implements Component<DynamicBodyTemperatureModifiersComponent> {
+    @Override
+    public void copyFrom(DynamicBodyTemperatureModifiersComponent other) {
+    }
+}
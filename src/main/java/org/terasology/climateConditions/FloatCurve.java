@@ -0,0 +1,40 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import com.google.common.base.Function;
+
+/**
+ * Maps a primitive float to another float without boxing.
+ * <p>
+ * Used by {@link ConditionsBaseField} to shape the base noise of a condition, which is passed in normalized to the
+ * range [0, 1].
+ */
+@FunctionalInterface
+public interface FloatCurve {
+    /** Returns its input unchanged. */
+    FloatCurve IDENTITY = value -> value;
+
+    float apply(float value);
+
+    /**
+     * Precomputes this curve into a lookup table over [0, 1].
+     * <p>
+     * The returned curve linearly interpolates between the samples and clamps its input to [0, 1]. It is only exact at
+     * the sample points, but costs an array lookup regardless of how expensive this curve is.
+     *
+     * @param samples the number of evenly spaced samples to take, at least 2
+     * @return the tabulated curve
+     */
+    default FloatCurve tabulate(int samples) {
+        return new TabulatedFloatCurve(this, samples);
+    }
+
+    /**
+     * Adapts a boxed function to a curve. Every evaluation of the returned curve boxes and unboxes its values, so it is
+     * meant for compatibility with callers that still provide a {@link Function}.
+     */
+    static FloatCurve of(Function<Float, Float> function) {
+        return function::apply;
+    }
+}
@@ -24,7 +24,7 @@ import org.terasology.module.health.events.DoDamageEvent;
 /**
  * Adds frostbite to the player.
  * Frostbite is a periodic effect that, e.g., damages and stuns the player.
- * Is only active iff the player has a {@link HypothermiaComponent} level 3 or greater.
+ * Is only active iff the player has hypothermia level 3 or greater.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 public class FrostbiteSystem extends BaseComponentSystem {
@@ -65,9 +65,12 @@ public class FrostbiteSystem extends BaseComponentSystem {
         delayManager.cancelPeriodicAction(player, FROSTBITE_DAMAGE_ACTION_ID);
     }
 
+    /**
+     * Damages the player periodically. The action only exists while the player is at hypothermia level 3, be it from a
+     * {@link HypothermiaComponent} or a {@link ThermiaStateComponent}.
+     */
     @ReceiveEvent
-    public void onPeriodicFrostbite(PeriodicActionTriggeredEvent event, EntityRef player,
-                                    HypothermiaComponent hypothermia) {
+    public void onPeriodicFrostbite(PeriodicActionTriggeredEvent event, EntityRef player) {
         if (event.getActionId().equals(FROSTBITE_DAMAGE_ACTION_ID)) {
             applyFrostbiteDamagePlayer(player);
             applyStunEffect(player, 1000);
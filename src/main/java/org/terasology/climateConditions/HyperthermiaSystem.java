@@ -54,11 +54,53 @@ public class HyperthermiaSystem extends BaseComponentSystem {
         event.multiply(hyperthermia.thirstMultiplier);
     }
 
+    /**
+     * Reduces the walking/running speed of the player while its persistent thermia state is in hyperthermia.
+     */
+    @ReceiveEvent
+    public void modifyThermiaStateSpeed(GetMaxSpeedEvent event, EntityRef player, ThermiaStateComponent thermia) {
+        if (thermia.level > 0) {
+            event.multiply(thermia.walkSpeedMultiplier);
+        }
+    }
+
+    /**
+     * Reduces the jump speed of the player while its persistent thermia state is in hyperthermia.
+     */
+    @ReceiveEvent
+    public void modifyThermiaStateJumpSpeed(AffectJumpForceEvent event, EntityRef player,
+                                            ThermiaStateComponent thermia) {
+        if (thermia.level > 0) {
+            event.multiply(thermia.jumpSpeedMultiplier);
+        }
+    }
+
+    /**
+     * Increases the thirst decay per second of the player while its persistent thermia state is in hyperthermia.
+     */
+    @ReceiveEvent
+    public void modifyThermiaStateThirst(AffectThirstEvent event, EntityRef player, ThermiaStateComponent thermia) {
+        if (thermia.level > 0) {
+            event.multiply(thermia.thirstMultiplier);
+        }
+    }
+
+    /**
+     * Applies the regen multiplier of the persistent thermia state to the base regeneration, see
+     * {@link #beforeBaseRegen(BeforeRegenEvent, EntityRef, HyperthermiaComponent)}.
+     */
+    @ReceiveEvent
+    public void beforeThermiaStateBaseRegen(BeforeRegenEvent event, EntityRef entity, ThermiaStateComponent thermia) {
+        if (thermia.level > 0) {
+            applyBaseRegenMultiplier(event, thermia.regenMultiplier);
+        }
+    }
+
     /**
      * Weakens the player by reducing the maxHealth and regeneration of the player.
      */
-    private void applyWeakening(EntityRef player, HealthComponent health, HyperthermiaComponent hyperthermia) {
-        player.send(new ChangeMaxHealthEvent(hyperthermia.maxHealthMultiplier * health.maxHealth));
+    private void applyWeakening(EntityRef player, HealthComponent health, float maxHealthMultiplier) {
+        player.send(new ChangeMaxHealthEvent(maxHealthMultiplier * health.maxHealth));
         health.currentHealth = Math.min(health.currentHealth, health.maxHealth);
         player.saveComponent(health);
     }
@@ -75,20 +117,27 @@ public class HyperthermiaSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void beforeBaseRegen(BeforeRegenEvent event, EntityRef entity, HyperthermiaComponent hyperthermia) {
-        if (event.getId().equals(BASE_REGEN)) {
-            // TODO: Ideally, we should handle this the same as the other modifiers:
-            //  If hyperthermia is active (i.e. HyperthermiaComponent is present), only apply the multiplier here and
-            //  let the modifyHyperthermiaMultipliers adjust the multipliers.
-            if (hyperthermia.level >= 3) {
-                event.multiply(hyperthermia.regenMultiplier);
-            }
+        // TODO: Ideally, we should handle this the same as the other modifiers:
+        //  If hyperthermia is active (i.e. HyperthermiaComponent is present), only apply the multiplier here and
+        //  let the modifyHyperthermiaMultipliers adjust the multipliers.
+        if (hyperthermia.level >= 3) {
+            applyBaseRegenMultiplier(event, hyperthermia.regenMultiplier);
+        }
+    }
+
+    /**
+     * Only the base regeneration action is affected, all other registered regeneration actions are ignored.
+     */
+    private static void applyBaseRegenMultiplier(BeforeRegenEvent event, float regenMultiplier) {
+        if (event.getId().equals(BASE_REGEN) && regenMultiplier != 1) {
+            event.multiply(regenMultiplier);
         }
     }
 
     /**
      * Reverts the player weakening by restoring the maxHealth and regeneration of the player to the original value.
      */
-    private void revertWeakening(EntityRef player, HealthComponent health, HyperthermiaComponent hyperthermia) {
+    private void revertWeakening(EntityRef player, HealthComponent health) {
         player.send(new ChangeMaxHealthEvent(player.getParentPrefab().getComponent(HealthComponent.class).maxHealth));
         player.saveComponent(health);
     }
@@ -99,33 +148,36 @@ public class HyperthermiaSystem extends BaseComponentSystem {
         int oldLevel = event.getOldValue();
         int newLevel = event.getNewValue();
         player.saveComponent(modifyHyperthermiaMultipliers(hyperthermia, newLevel));
+        updateWeakening(player, health, oldLevel, newLevel, hyperthermia.maxHealthMultiplier);
+    }
+
+    /**
+     * Applies or reverts the weakening for players with a persistent thermia state, whose multipliers are already
+     * updated by the {@link BodyTemperatureSystem}.
+     */
+    @ReceiveEvent
+    public void hyperthermiaStateChanged(HyperthermiaLevelChangedEvent event, EntityRef player,
+                                         ThermiaStateComponent thermia, HealthComponent health) {
+        updateWeakening(player, health, event.getOldValue(), event.getNewValue(), thermia.maxHealthMultiplier);
+    }
+
+    private void updateWeakening(EntityRef player, HealthComponent health, int oldLevel, int newLevel,
+                                 float maxHealthMultiplier) {
         //Weakening effect remains active for Hyperthermia levels 3 and greater.
         if (newLevel == 3 && oldLevel < newLevel) {
-            applyWeakening(player, health, hyperthermia);
+            applyWeakening(player, health, maxHealthMultiplier);
         } else if (oldLevel == 3 && oldLevel > newLevel) {
-            revertWeakening(player, health, hyperthermia);
+            revertWeakening(player, health);
         }
     }
 
     private HyperthermiaComponent modifyHyperthermiaMultipliers(HyperthermiaComponent hyperthermia, int level) {
-        switch (level) {
-            case 1:
-                hyperthermia.walkSpeedMultiplier = 1;
-                hyperthermia.jumpSpeedMultiplier = 1;
-                hyperthermia.thirstMultiplier = 1.5f;
-                break;
-            case 2:
-                hyperthermia.walkSpeedMultiplier = 0.7f;
-                hyperthermia.jumpSpeedMultiplier = 0.85f;
-                hyperthermia.thirstMultiplier = 2f;
-                break;
-            case 3:
-                hyperthermia.walkSpeedMultiplier = 0.6f;
-                hyperthermia.jumpSpeedMultiplier = 0.7f;
-                hyperthermia.thirstMultiplier = 2.25f;
-                break;
-            default:
-                logger.warn("Unexpected Hyperthermia Level.");
+        if (level >= 1 && level <= ThermiaEffects.MAX_LEVEL) {
+            hyperthermia.walkSpeedMultiplier = ThermiaEffects.getWalkSpeedMultiplier(level);
+            hyperthermia.jumpSpeedMultiplier = ThermiaEffects.getJumpSpeedMultiplier(level);
+            hyperthermia.thirstMultiplier = ThermiaEffects.getThirstMultiplier(level);
+        } else {
+            logger.warn("Unexpected Hyperthermia Level.");
         }
         return hyperthermia;
     }
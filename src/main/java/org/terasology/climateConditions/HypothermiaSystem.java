@@ -29,9 +29,7 @@ public class HypothermiaSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void modifySpeed(GetMaxSpeedEvent event, EntityRef player, HypothermiaComponent hypothermia) {
-        if (event.getMovementMode() == MovementMode.WALKING) {
-            event.multiply(hypothermia.walkSpeedMultiplier);
-        }
+        applySpeedMultipliers(event, hypothermia.walkSpeedMultiplier);
     }
 
     /**
@@ -43,6 +41,36 @@ public class HypothermiaSystem extends BaseComponentSystem {
         event.multiply(hypothermia.jumpSpeedMultiplier);
     }
 
+    /**
+     * Reduces the walking/running speed of the player while its persistent thermia state is in hypothermia.
+     */
+    @ReceiveEvent
+    public void modifyThermiaStateSpeed(GetMaxSpeedEvent event, EntityRef player, ThermiaStateComponent thermia) {
+        if (thermia.level < 0) {
+            applySpeedMultipliers(event, thermia.walkSpeedMultiplier);
+        }
+    }
+
+    /**
+     * Reduces the jump speed of the player while its persistent thermia state is in hypothermia.
+     */
+    @ReceiveEvent
+    public void modifyThermiaStateJumpSpeed(AffectJumpForceEvent event, EntityRef player,
+                                            ThermiaStateComponent thermia) {
+        if (thermia.level < 0) {
+            event.multiply(thermia.jumpSpeedMultiplier);
+        }
+    }
+
+    /**
+     * Slows down walking, hypothermia doesn't affect other movement modes.
+     */
+    private static void applySpeedMultipliers(GetMaxSpeedEvent event, float walkSpeedMultiplier) {
+        if (event.getMovementMode() == MovementMode.WALKING) {
+            event.multiply(walkSpeedMultiplier);
+        }
+    }
+
     @ReceiveEvent
     public void hypothermiaLevelChanged(HypothermiaLevelChangedEvent event, EntityRef player,
                                         HypothermiaComponent hypothermia) {
@@ -50,21 +78,11 @@ public class HypothermiaSystem extends BaseComponentSystem {
     }
 
     private HypothermiaComponent modifySpeedMultipliers(HypothermiaComponent hypothermia, int level) {
-        switch (level) {
-            case 1:
-                hypothermia.walkSpeedMultiplier = 1;
-                hypothermia.jumpSpeedMultiplier = 1;
-                break;
-            case 2:
-                hypothermia.walkSpeedMultiplier = 0.7f;
-                hypothermia.jumpSpeedMultiplier = 0.7f;
-                break;
-            case 3:
-                hypothermia.walkSpeedMultiplier = 0.5f;
-                hypothermia.jumpSpeedMultiplier = 0.6f;
-                break;
-            default:
-                logger.warn("Unexpected Hypothermia Level.");
+        if (level >= 1 && level <= ThermiaEffects.MAX_LEVEL) {
+            hypothermia.walkSpeedMultiplier = ThermiaEffects.getWalkSpeedMultiplier(-level);
+            hypothermia.jumpSpeedMultiplier = ThermiaEffects.getJumpSpeedMultiplier(-level);
+        } else {
+            logger.warn("Unexpected Hypothermia Level.");
         }
         return hypothermia;
     }
@@ -0,0 +1,280 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TIntByteMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntByteHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.procedure.TIntObjectProcedure;
+import gnu.trove.set.hash.TLongHashSet;
+import org.joml.Vector3fc;
+import org.joml.Vector3ic;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.OnChangedBlock;
+import org.terasology.engine.world.WorldComponent;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.event.BeforeChunkUnload;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+
+/**
+ * Determines how sheltered positions are from the outside climate, e.g. inside an igloo or a house.
+ * <p>
+ * A position under open sky, i.e. with full sunlight, is not sheltered at all. Otherwise a bounded flood fill through
+ * the penetrable blocks around the position decides: reaching a block under open sky means the position is only
+ * roofed over, not reaching any means it is enclosed.
+ * <p>
+ * Lookups never fill: they return the cached shelter of a position and queue it for filling if it isn't known or
+ * outdated. Until the fill ran, the last known shelter is returned, or none for positions never filled. The queued
+ * fills run on later updates, which stop once the fills of a tick visited {@link #MAX_FILL_CELLS_PER_TICK} cells, so
+ * a tick may run many cheap fills but only a few large ones. Cached positions are filled again on their next lookup
+ * after a block changed nearby or above them.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(ShelterSystem.class)
+public class ShelterSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    /** The shelter of positions roofed over, but open to the sky nearby. */
+    public static final float ROOFED = 0.4f;
+    /** The shelter of positions in enclosures too large to be filled within the fill limits. */
+    public static final float LARGE_ENCLOSURE = 0.8f;
+    public static final float ENCLOSED = 1;
+
+    /** The maximum Manhattan distance the flood fill spreads, less than a chunk so changes stay local. */
+    private static final int MAX_FILL_DISTANCE = 12;
+    /** The maximum number of cells a single flood fill visits. */
+    static final int MAX_FILL_CELLS = 512;
+    /** The number of cells the fills of a tick may visit, more than the cells of a single fill. */
+    static final int MAX_FILL_CELLS_PER_TICK = 4 * MAX_FILL_CELLS;
+    private static final byte UNKNOWN = Byte.MIN_VALUE;
+    private static final int KEY_BITS = 21;
+    private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+    private static final int[][] NEIGHBOURS = {{1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}};
+
+    @In
+    private WorldProvider worldProvider;
+
+    /**
+     * The cached shelter of the looked up positions per chunk column and chunk y, in percent, by the index of the block
+     * within the chunk. Outdated values are stored as their complement. Grouping the chunks by column keeps block
+     * changes from visiting chunks they can't affect.
+     */
+    private final TLongObjectMap<TIntObjectMap<TIntByteMap>> columns = new TLongObjectHashMap<>();
+    /** The positions queued for filling, in order; the ones before {@link #pendingHead} are done. */
+    private final TLongArrayList pending = new TLongArrayList();
+    private final TLongHashSet queued = new TLongHashSet();
+    private int pendingHead;
+    private final TLongHashSet visited = new TLongHashSet();
+    private final long[] queue = new long[MAX_FILL_CELLS];
+    /** The number of cells the last fill visited. */
+    private int filledCells;
+
+    @Override
+    public void shutdown() {
+        columns.clear();
+        pending.clear();
+        queued.clear();
+        pendingHead = 0;
+    }
+
+    @Override
+    public void update(float delta) {
+        int cells = 0;
+        while (pendingHead < pending.size() && cells < MAX_FILL_CELLS_PER_TICK) {
+            long position = pending.get(pendingHead++);
+            queued.remove(position);
+            fill(unpackX(position), unpackY(position), unpackZ(position));
+            cells += filledCells;
+        }
+        if (pendingHead == pending.size()) {
+            pending.clear();
+            pendingHead = 0;
+        }
+    }
+
+    /**
+     * Returns how sheltered the given position is, from 0 under open sky to 1 in an enclosure.
+     */
+    public float getShelter(Vector3fc position) {
+        return getShelter(Math.round(position.x()), Math.round(position.y()), Math.round(position.z()));
+    }
+
+    /**
+     * Returns how sheltered the block at the given position is, from 0 under open sky to 1 in an enclosure.
+     */
+    public float getShelter(int x, int y, int z) {
+        TIntByteMap shelter = getChunk(x, y, z);
+        byte value = shelter != null ? shelter.get(getIndex(x, y, z)) : UNKNOWN;
+        if (value >= 0) {
+            return value / 100f;
+        }
+        long position = pack(x, y, z);
+        if (queued.add(position)) {
+            pending.add(position);
+        }
+        return value != UNKNOWN ? ~value / 100f : 0;
+    }
+
+    /**
+     * Outdates the shelter in the chunk of a changed block and in its neighbours, as far as the flood fill reaches, and
+     * in all chunks below them, as the change may have shaded or uncovered the whole column underneath.
+     */
+    @ReceiveEvent(components = BlockComponent.class)
+    public void onChangedBlock(OnChangedBlock event, EntityRef blockEntity) {
+        Vector3ic position = event.getBlockPosition();
+        int chunkX = position.x() >> Chunks.POWER_X;
+        int maxChunkY = (position.y() >> Chunks.POWER_Y) + 1;
+        int chunkZ = position.z() >> Chunks.POWER_Z;
+        TIntObjectProcedure<TIntByteMap> outdateBelow = (chunkY, shelter) -> {
+            if (chunkY <= maxChunkY) {
+                shelter.transformValues(ShelterSystem::outdate);
+            }
+            return true;
+        };
+        for (int columnX = chunkX - 1; columnX <= chunkX + 1; columnX++) {
+            for (int columnZ = chunkZ - 1; columnZ <= chunkZ + 1; columnZ++) {
+                TIntObjectMap<TIntByteMap> column = columns.get(getColumnKey(columnX, columnZ));
+                if (column != null) {
+                    column.forEachEntry(outdateBelow);
+                }
+            }
+        }
+    }
+
+    @ReceiveEvent(components = WorldComponent.class)
+    public void onChunkUnload(BeforeChunkUnload event, EntityRef worldEntity) {
+        Vector3ic chunkPos = event.getChunkPos();
+        long columnKey = getColumnKey(chunkPos.x(), chunkPos.z());
+        TIntObjectMap<TIntByteMap> column = columns.get(columnKey);
+        if (column != null) {
+            column.remove(chunkPos.y());
+            if (column.isEmpty()) {
+                columns.remove(columnKey);
+            }
+        }
+    }
+
+    /**
+     * Computes the shelter of the block at the given position and caches it, unless the block was unloaded since.
+     * Sets {@link #filledCells} to the number of cells visited.
+     */
+    private void fill(int x, int y, int z) {
+        filledCells = 1;
+        if (!worldProvider.isBlockRelevant(x, y, z)) {
+            return;
+        }
+        long columnKey = getColumnKey(x >> Chunks.POWER_X, z >> Chunks.POWER_Z);
+        TIntObjectMap<TIntByteMap> column = columns.get(columnKey);
+        if (column == null) {
+            column = new TIntObjectHashMap<>();
+            columns.put(columnKey, column);
+        }
+        TIntByteMap shelter = column.get(y >> Chunks.POWER_Y);
+        if (shelter == null) {
+            shelter = new TIntByteHashMap(16, 0.5f, -1, UNKNOWN);
+            column.put(y >> Chunks.POWER_Y, shelter);
+        }
+        shelter.put(getIndex(x, y, z), (byte) Math.round(computeShelter(x, y, z) * 100));
+    }
+
+    /**
+     * Computes the shelter of the block at the given position, counting the cells whose neighbours it reads in
+     * {@link #filledCells}.
+     */
+    private float computeShelter(int x, int y, int z) {
+        if (isOpenSky(x, y, z)) {
+            return 0;
+        }
+        visited.clear();
+        visited.add(pack(x, y, z));
+        queue[0] = pack(x, y, z);
+        int head = 0;
+        int tail = 1;
+        boolean exceeded = false;
+        while (head < tail) {
+            long cell = queue[head++];
+            filledCells = head;
+            int cellX = unpackX(cell);
+            int cellY = unpackY(cell);
+            int cellZ = unpackZ(cell);
+            for (int[] offset : NEIGHBOURS) {
+                int nx = cellX + offset[0];
+                int ny = cellY + offset[1];
+                int nz = cellZ + offset[2];
+                long neighbour = pack(nx, ny, nz);
+                if (visited.contains(neighbour)) {
+                    continue;
+                }
+                if (!worldProvider.isBlockRelevant(nx, ny, nz) || isOpenSky(nx, ny, nz)) {
+                    return ROOFED;
+                }
+                Block block = worldProvider.getBlock(nx, ny, nz);
+                if (!block.isPenetrable()) {
+                    continue;
+                }
+                visited.add(neighbour);
+                if (Math.abs(nx - x) + Math.abs(ny - y) + Math.abs(nz - z) > MAX_FILL_DISTANCE || tail == queue.length) {
+                    exceeded = true;
+                } else {
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return exceeded ? LARGE_ENCLOSURE : ENCLOSED;
+    }
+
+    private boolean isOpenSky(int x, int y, int z) {
+        return worldProvider.getSunlight(x, y, z) >= Chunks.MAX_SUNLIGHT;
+    }
+
+    private static byte outdate(byte value) {
+        return value >= 0 ? (byte) ~value : value;
+    }
+
+    private TIntByteMap getChunk(int x, int y, int z) {
+        TIntObjectMap<TIntByteMap> column = columns.get(getColumnKey(x >> Chunks.POWER_X, z >> Chunks.POWER_Z));
+        return column != null ? column.get(y >> Chunks.POWER_Y) : null;
+    }
+
+    private static long getColumnKey(int chunkX, int chunkZ) {
+        return pack(chunkX, 0, chunkZ);
+    }
+
+    /**
+     * Returns the index of a block within its chunk, with blocks ordered x first, then z, then y.
+     */
+    private static int getIndex(int x, int y, int z) {
+        return (x & (Chunks.SIZE_X - 1))
+                + Chunks.SIZE_X * ((z & (Chunks.SIZE_Z - 1)) + Chunks.SIZE_Z * (y & (Chunks.SIZE_Y - 1)));
+    }
+
+    /**
+     * Packs a position into a long with 21 bits per axis, the same layout as the {@link ConditionGeneratorIndex} uses.
+     */
+    private static long pack(int x, int y, int z) {
+        return ((x & KEY_MASK) << (2 * KEY_BITS)) | ((y & KEY_MASK) << KEY_BITS) | (z & KEY_MASK);
+    }
+
+    private static int unpackX(long packed) {
+        return (int) (packed << (64 - 3 * KEY_BITS) >> (64 - KEY_BITS));
+    }
+
+    private static int unpackY(long packed) {
+        return (int) (packed << (64 - 2 * KEY_BITS) >> (64 - KEY_BITS));
+    }
+
+    private static int unpackZ(long packed) {
+        return (int) (packed << (64 - KEY_BITS) >> (64 - KEY_BITS));
+    }
+}
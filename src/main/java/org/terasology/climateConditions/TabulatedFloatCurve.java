@@ -0,0 +1,36 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+/**
+ * A {@link FloatCurve} precomputed into evenly spaced samples over [0, 1], see {@link FloatCurve#tabulate(int)}.
+ */
+final class TabulatedFloatCurve implements FloatCurve {
+    private final float[] table;
+    private final int lastIndex;
+
+    TabulatedFloatCurve(FloatCurve curve, int samples) {
+        if (samples < 2) {
+            throw new IllegalArgumentException("At least 2 samples are required: " + samples);
+        }
+        table = new float[samples];
+        lastIndex = samples - 1;
+        for (int i = 0; i < samples; i++) {
+            table[i] = curve.apply((float) i / lastIndex);
+        }
+    }
+
+    @Override
+    public float apply(float value) {
+        if (!(value > 0)) {
+            return table[0];
+        }
+        float position = value * lastIndex;
+        int index = (int) position;
+        if (index >= lastIndex) {
+            return table[lastIndex];
+        }
+        float fraction = position - index;
+        return table[index] + (table[index + 1] - table[index]) * fraction;
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+/**
+ * The multipliers applied at each thermia level, indexed by the signed level as used by
+ * {@link ThermiaStateComponent#level}: -3 to -1 for hypothermia, 0 for normal and 1 to 3 for hyperthermia.
+ */
+final class ThermiaEffects {
+    static final int MAX_LEVEL = 3;
+
+    private static final float[] WALK_SPEED_MULTIPLIERS = {0.5f, 0.7f, 1, 1, 1, 0.7f, 0.6f};
+    private static final float[] JUMP_SPEED_MULTIPLIERS = {0.6f, 0.7f, 1, 1, 1, 0.85f, 0.7f};
+    private static final float[] THIRST_MULTIPLIERS = {1, 1, 1, 1, 1.5f, 2f, 2.25f};
+    /** Hyperthermia weakens the player from level 3 on. */
+    private static final float[] REGEN_MULTIPLIERS = {1, 1, 1, 1, 1, 1, 0.8f};
+    private static final float[] MAX_HEALTH_MULTIPLIERS = {1, 1, 1, 1, 1, 1, 0.8f};
+
+    private ThermiaEffects() {
+    }
+
+    static float getWalkSpeedMultiplier(int level) {
+        return WALK_SPEED_MULTIPLIERS[level + MAX_LEVEL];
+    }
+
+    static float getJumpSpeedMultiplier(int level) {
+        return JUMP_SPEED_MULTIPLIERS[level + MAX_LEVEL];
+    }
+
+    static float getThirstMultiplier(int level) {
+        return THIRST_MULTIPLIERS[level + MAX_LEVEL];
+    }
+
+    /**
+     * Updates the level and all multipliers of the thermia state in place.
+     */
+    static void apply(ThermiaStateComponent state, int level) {
+        int index = level + MAX_LEVEL;
+        state.level = level;
+        state.walkSpeedMultiplier = WALK_SPEED_MULTIPLIERS[index];
+        state.jumpSpeedMultiplier = JUMP_SPEED_MULTIPLIERS[index];
+        state.thirstMultiplier = THIRST_MULTIPLIERS[index];
+        state.regenMultiplier = REGEN_MULTIPLIERS[index];
+        state.maxHealthMultiplier = MAX_HEALTH_MULTIPLIERS[index];
+    }
+}
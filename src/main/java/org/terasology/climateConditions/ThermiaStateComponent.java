@@ -0,0 +1,36 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.terasology.gestalt.entitysystem.component.Component;
+
+/**
+ * Holds the hypothermia or hyperthermia state of an entity together with the resulting multipliers.
+ * <p>
+ * Entities having this component, e.g. by adding it to their prefab, keep it permanently: the
+ * {@link BodyTemperatureSystem} updates it in place on level changes instead of adding and removing
+ * {@link HypothermiaComponent} and {@link HyperthermiaComponent}. Outside of hypothermia and hyperthermia all multipliers
+ * are 1.
+ */
+public class ThermiaStateComponent implements Component<ThermiaStateComponent> {
+    /**
+     * The thermia level: negative values are hypothermia levels, positive values hyperthermia levels and 0 means a
+     * normal body temperature.
+     */
+    public int level;
+    public float walkSpeedMultiplier = 1;
+    public float jumpSpeedMultiplier = 1;
+    public float thirstMultiplier = 1;
+    public float regenMultiplier = 1;
+    public float maxHealthMultiplier = 1;
+
+    @Override
+    public void copyFrom(ThermiaStateComponent other) {
+        this.level = other.level;
+        this.walkSpeedMultiplier = other.walkSpeedMultiplier;
+        this.jumpSpeedMultiplier = other.jumpSpeedMultiplier;
+        this.thirstMultiplier = other.thirstMultiplier;
+        this.regenMultiplier = other.regenMultiplier;
+        this.maxHealthMultiplier = other.maxHealthMultiplier;
+    }
+}
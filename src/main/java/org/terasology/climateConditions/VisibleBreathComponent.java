@@ -9,7 +9,8 @@ import org.terasology.gestalt.entitysystem.component.Component;
 /**
  * Augments the world with a visible breath particle effect. Has a desired effect only if the entity has a {@link
  * org.terasology.engine.logic.location.LocationComponent} which determines the location and direction of the effect.
- * Is added/updated by the {@link VisibleBreathingSystem} periodically.
+ * Is added/updated by the {@link VisibleBreathingSystem} periodically, reusing the same particle entity, which is
+ * destroyed along with this component.
  */
 public class VisibleBreathComponent implements Component<VisibleBreathComponent> {
     public EntityRef particleEntity = EntityRef.NULL;
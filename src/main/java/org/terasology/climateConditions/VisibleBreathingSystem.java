@@ -7,6 +7,8 @@ import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
 import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnAddedComponent;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
@@ -14,6 +16,7 @@ import org.terasology.engine.logic.delay.DelayManager;
 import org.terasology.engine.logic.delay.PeriodicActionTriggeredEvent;
 import org.terasology.engine.logic.location.Location;
 import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.particles.components.ParticleEmitterComponent;
 import org.terasology.engine.particles.components.generators.VelocityRangeGeneratorComponent;
 import org.terasology.engine.registry.In;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
@@ -21,16 +24,21 @@ import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 /**
  * Adds a {@link VisibleBreathComponent} to the player.
  * Visible breath is a periodic action adding a visible breath particle effect.
- * Is active only iff the player has a {@link HypothermiaComponent}
+ * Is active only iff the player has a {@link HypothermiaComponent}, or a {@link ThermiaStateComponent} in hypothermia.
+ * Each player has a single breath effect entity, which is re-triggered on every breath and destroyed once the
+ * hypothermia ends.
  */
 @RegisterSystem(value = RegisterMode.AUTHORITY)
 public class VisibleBreathingSystem extends BaseComponentSystem {
     public static final String VISIBLE_BREATH_ACTION_ID = "Visible Breath";
+    private static final String VISIBLE_BREATH_EFFECT = "climateConditions:VisibleBreathEffect";
 
     @In
     private EntityManager entityManager;
     @In
     private DelayManager delayManager;
+    @In
+    private PrefabManager prefabManager;
 
     private int initialDelay = 5000;
     private int breathInterval = 7000;
@@ -45,9 +53,36 @@ public class VisibleBreathingSystem extends BaseComponentSystem {
     @ReceiveEvent(components = HypothermiaComponent.class)
     public void beforeRemoveHypothermia(BeforeRemoveComponent event, EntityRef player) {
         delayManager.cancelPeriodicAction(player, VisibleBreathingSystem.VISIBLE_BREATH_ACTION_ID);
+        player.removeComponent(VisibleBreathComponent.class);
     }
 
-    @ReceiveEvent(components = HypothermiaComponent.class)
+    @ReceiveEvent(components = ThermiaStateComponent.class)
+    public void onHypothermiaLevelChanged(HypothermiaLevelChangedEvent event, EntityRef player) {
+        if (event.getOldValue() == 0 && event.getNewValue() > 0) {
+            delayManager.addPeriodicAction(player, VisibleBreathingSystem.VISIBLE_BREATH_ACTION_ID, initialDelay,
+                breathInterval);
+        } else if (event.getNewValue() == 0) {
+            delayManager.cancelPeriodicAction(player, VisibleBreathingSystem.VISIBLE_BREATH_ACTION_ID);
+            player.removeComponent(VisibleBreathComponent.class);
+        }
+    }
+
+    /**
+     * Destroys the breath effect along with the component referencing it, e.g. once the hypothermia ended or the
+     * player is destroyed.
+     */
+    @ReceiveEvent
+    public void beforeRemoveVisibleBreath(BeforeRemoveComponent event, EntityRef player,
+                                          VisibleBreathComponent visibleBreath) {
+        if (visibleBreath.particleEntity.exists()) {
+            visibleBreath.particleEntity.destroy();
+        }
+    }
+
+    /**
+     * Adds a breath effect periodically. The action only exists while the player is in hypothermia.
+     */
+    @ReceiveEvent
     public void onPeriodicBreath(PeriodicActionTriggeredEvent event, EntityRef player, LocationComponent location) {
         if (event.getActionId().equals(VISIBLE_BREATH_ACTION_ID)) {
             updateVisibleBreathEffect(player, location);
@@ -55,11 +90,22 @@ public class VisibleBreathingSystem extends BaseComponentSystem {
     }
 
     private void updateVisibleBreathEffect(EntityRef player, LocationComponent targetLoc) {
-        EntityRef particleEntity = entityManager.create("climateConditions:VisibleBreathEffect");
-        LocationComponent childLoc = particleEntity.getComponent(LocationComponent.class);
-        childLoc.setWorldPosition(targetLoc.getWorldPosition(new Vector3f()));
-        Location.attachChild(player, particleEntity);
-        particleEntity.setOwner(player);
+        VisibleBreathComponent visibleBreath = player.getComponent(VisibleBreathComponent.class);
+        EntityRef particleEntity = visibleBreath != null ? visibleBreath.particleEntity : EntityRef.NULL;
+        if (particleEntity.exists()) {
+            retrigger(particleEntity);
+        } else {
+            particleEntity = createVisibleBreathEffect(player, targetLoc);
+            if (visibleBreath == null) {
+                visibleBreath = new VisibleBreathComponent();
+                visibleBreath.particleEntity = particleEntity;
+                player.addComponent(visibleBreath);
+            } else {
+                visibleBreath.particleEntity = particleEntity;
+                player.saveComponent(visibleBreath);
+            }
+        }
+
         Vector3f direction = targetLoc.getLocalDirection(new Vector3f());
         direction.normalize();
         particleEntity.upsertComponent((VelocityRangeGeneratorComponent.class), maybeComponent -> {
@@ -71,10 +117,32 @@ public class VisibleBreathingSystem extends BaseComponentSystem {
             velocity.maxVelocity = new Vector3f(direction);
             return velocity;
         });
-        player.upsertComponent((VisibleBreathComponent.class), maybeComponent -> {
-            VisibleBreathComponent component = maybeComponent.orElse(new VisibleBreathComponent());
-            component.particleEntity = particleEntity;
-            return component;
-        });
+    }
+
+    /**
+     * Creates the breath effect of a player, attached to the player. The prefab keeps it after its particles died out.
+     */
+    private EntityRef createVisibleBreathEffect(EntityRef player, LocationComponent targetLoc) {
+        EntityRef particleEntity = entityManager.create(VISIBLE_BREATH_EFFECT);
+        LocationComponent childLoc = particleEntity.getComponent(LocationComponent.class);
+        childLoc.setWorldPosition(targetLoc.getWorldPosition(new Vector3f()));
+        Location.attachChild(player, particleEntity);
+        particleEntity.setOwner(player);
+        return particleEntity;
+    }
+
+    /**
+     * Lets an existing breath effect spawn the particles of a breath again.
+     */
+    private void retrigger(EntityRef particleEntity) {
+        ParticleEmitterComponent emitter = particleEntity.getComponent(ParticleEmitterComponent.class);
+        Prefab prefab = prefabManager.getPrefab(VISIBLE_BREATH_EFFECT);
+        ParticleEmitterComponent prefabEmitter = prefab != null
+                ? prefab.getComponent(ParticleEmitterComponent.class) : null;
+        if (emitter == null || prefabEmitter == null) {
+            return;
+        }
+        emitter.particleSpawnsLeft = prefabEmitter.particleSpawnsLeft;
+        particleEntity.saveComponent(emitter);
     }
 }
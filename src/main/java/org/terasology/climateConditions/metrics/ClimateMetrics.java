@@ -0,0 +1,159 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions.metrics;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects runtime metrics of the climate queries and the body temperature updates.
+ * <p>
+ * Recording is thread safe and does not allocate. While the metrics are disabled, which is the default, recording
+ * only costs a check of the enabled flag. A typical recording looks like:
+ * <pre>{@code
+ * long start = metrics.startTimer();
+ * // the measured work
+ * metrics.recordQuery(ClimateMetrics.Query.TEMPERATURE, start);
+ * }</pre>
+ */
+public class ClimateMetrics {
+    /** The climate queries measured separately. */
+    public enum Query {
+        TEMPERATURE,
+        HUMIDITY,
+        CONDITIONS,
+        TEMPERATURE_REGION,
+        HUMIDITY_REGION
+    }
+
+    /** Returned by {@link #startTimer()} while the metrics are disabled. */
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final Map<Query, LatencyHistogram> queryLatencies = new EnumMap<>(Query.class);
+    private final AtomicLong generatorLookups = new AtomicLong();
+    private final AtomicLong generatorsScanned = new AtomicLong();
+    private final LatencyHistogram thermalTickDurations = new LatencyHistogram();
+    private final AtomicLong thermalEntitiesProcessed = new AtomicLong();
+    private final List<ClimateMetricsSink> sinks = new CopyOnWriteArrayList<>();
+
+    private volatile boolean enabled;
+
+    public ClimateMetrics() {
+        for (Query query : Query.values()) {
+            queryLatencies.put(query, new LatencyHistogram());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the start time of a measurement, to be passed to one of the recording methods once the measured work is
+     * done. Does not read the clock while the metrics are disabled.
+     */
+    public long startTimer() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records a climate query started at the given time.
+     *
+     * @param query the kind of query
+     * @param start the value returned by {@link #startTimer()} before the query
+     */
+    public void recordQuery(Query query, long start) {
+        if (start != NOT_TIMED) {
+            queryLatencies.get(query).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a lookup of the generators affecting a point.
+     *
+     * @param scanned the number of generators evaluated for the point
+     */
+    public void recordGeneratorLookup(int scanned) {
+        if (enabled) {
+            generatorLookups.incrementAndGet();
+            generatorsScanned.addAndGet(scanned);
+        }
+    }
+
+    /**
+     * Records a body temperature update started at the given time.
+     *
+     * @param start the value returned by {@link #startTimer()} before the update
+     * @param entities the number of entities processed by the update
+     */
+    public void recordThermalTick(long start, int entities) {
+        if (start != NOT_TIMED) {
+            thermalTickDurations.record(System.nanoTime() - start);
+            thermalEntitiesProcessed.addAndGet(entities);
+        }
+    }
+
+    public LatencyHistogram getQueryLatencies(Query query) {
+        return queryLatencies.get(query);
+    }
+
+    public long getGeneratorLookups() {
+        return generatorLookups.get();
+    }
+
+    public long getGeneratorsScanned() {
+        return generatorsScanned.get();
+    }
+
+    public LatencyHistogram getThermalTickDurations() {
+        return thermalTickDurations;
+    }
+
+    public long getThermalEntitiesProcessed() {
+        return thermalEntitiesProcessed.get();
+    }
+
+    /**
+     * Registers a sink that receives the metrics whenever they are published.
+     */
+    public void addSink(ClimateMetricsSink sink) {
+        sinks.add(sink);
+    }
+
+    public void removeSink(ClimateMetricsSink sink) {
+        sinks.remove(sink);
+    }
+
+    public boolean hasSinks() {
+        return !sinks.isEmpty();
+    }
+
+    /**
+     * Passes the current metrics to all registered sinks.
+     */
+    public void publish() {
+        for (ClimateMetricsSink sink : sinks) {
+            sink.publish(this);
+        }
+    }
+
+    /**
+     * Discards everything recorded so far.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : queryLatencies.values()) {
+            histogram.reset();
+        }
+        generatorLookups.set(0);
+        generatorsScanned.set(0);
+        thermalTickDurations.reset();
+        thermalEntitiesProcessed.set(0);
+    }
+}
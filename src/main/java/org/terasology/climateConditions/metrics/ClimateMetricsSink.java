@@ -0,0 +1,18 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions.metrics;
+
+/**
+ * Receives the climate metrics when they are published, e.g. to forward them to a monitoring system.
+ * <p>
+ * Sinks are registered with {@link ClimateMetrics#addSink(ClimateMetricsSink)}. While the metrics are enabled they are
+ * published periodically by the {@link ClimateMetricsSystem}, and on demand through its console command.
+ */
+@FunctionalInterface
+public interface ClimateMetricsSink {
+    /**
+     * Called on the main thread with the current metrics. The metrics keep being recorded concurrently, so values read
+     * one after another may be slightly inconsistent.
+     */
+    void publish(ClimateMetrics metrics);
+}
@@ -0,0 +1,107 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions.metrics;
+
+import org.terasology.climateConditions.ClimateConditionsSystem;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.engine.logic.delay.DelayManager;
+import org.terasology.engine.logic.delay.PeriodicActionTriggeredEvent;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.WorldComponent;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+
+import java.util.Locale;
+
+/**
+ * Publishes the {@link ClimateMetrics} to the registered sinks and provides a console command to inspect them.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+public class ClimateMetricsSystem extends BaseComponentSystem {
+    public static final String PUBLISH_METRICS_ACTION_ID = "climateConditions:publishMetrics";
+
+    private static final int PUBLISH_INTERVAL = 10000;
+
+    @In
+    private ClimateConditionsSystem climateConditionsSystem;
+    @In
+    private DelayManager delayManager;
+    @In
+    private EntityManager entityManager;
+
+    @Override
+    public void postBegin() {
+        for (EntityRef world : entityManager.getEntitiesWith(WorldComponent.class)) {
+            delayManager.addPeriodicAction(world, PUBLISH_METRICS_ACTION_ID, PUBLISH_INTERVAL, PUBLISH_INTERVAL);
+            break;
+        }
+    }
+
+    /**
+     * Publishes the metrics to the registered sinks while they are enabled.
+     */
+    @ReceiveEvent
+    public void onPublishMetrics(PeriodicActionTriggeredEvent event, EntityRef world) {
+        if (event.getActionId().equals(PUBLISH_METRICS_ACTION_ID)) {
+            ClimateMetrics metrics = climateConditionsSystem.getMetrics();
+            if (metrics.isEnabled() && metrics.hasSinks()) {
+                metrics.publish();
+            }
+        }
+    }
+
+    @Command(shortDescription = "Inspect climate metrics",
+            helpText = "Controls the climate metrics: 'enable', 'disable', 'reset' or 'show' (default). "
+                    + "Showing the metrics also publishes them to the registered sinks.",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String climateMetrics(@CommandParam(value = "action", required = false) String action) {
+        ClimateMetrics metrics = climateConditionsSystem.getMetrics();
+        String command = action == null ? "show" : action.toLowerCase(Locale.ROOT);
+        switch (command) {
+            case "enable":
+                metrics.setEnabled(true);
+                return "Climate metrics enabled";
+            case "disable":
+                metrics.setEnabled(false);
+                return "Climate metrics disabled";
+            case "reset":
+                metrics.reset();
+                return "Climate metrics reset";
+            case "show":
+                metrics.publish();
+                return format(metrics);
+            default:
+                return "Unknown action '" + action + "', expected enable, disable, reset or show";
+        }
+    }
+
+    private static String format(ClimateMetrics metrics) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Climate metrics (").append(metrics.isEnabled() ? "enabled" : "disabled").append(")\n");
+        for (ClimateMetrics.Query query : ClimateMetrics.Query.values()) {
+            appendHistogram(builder, query.name().toLowerCase(Locale.ROOT) + " queries",
+                    metrics.getQueryLatencies(query));
+        }
+        long lookups = metrics.getGeneratorLookups();
+        builder.append(String.format(Locale.ROOT, "generator lookups: %d, generators scanned per lookup: %.2f%n",
+                lookups, lookups == 0 ? 0f : (float) metrics.getGeneratorsScanned() / lookups));
+        appendHistogram(builder, "thermal ticks", metrics.getThermalTickDurations());
+        long ticks = metrics.getThermalTickDurations().getCount();
+        builder.append(String.format(Locale.ROOT, "thermal entities processed: %d, per tick: %.1f",
+                metrics.getThermalEntitiesProcessed(),
+                ticks == 0 ? 0f : (float) metrics.getThermalEntitiesProcessed() / ticks));
+        return builder.toString();
+    }
+
+    private static void appendHistogram(StringBuilder builder, String name, LatencyHistogram histogram) {
+        builder.append(String.format(Locale.ROOT, "%s: %d, mean %d ns, p50 <= %d ns, p99 <= %d ns, max %d ns%n",
+                name, histogram.getCount(), histogram.getMeanNanos(), histogram.getPercentileNanos(50),
+                histogram.getPercentileNanos(99), histogram.getMaxNanos()));
+    }
+}
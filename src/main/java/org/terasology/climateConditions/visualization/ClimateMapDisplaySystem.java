@@ -5,6 +5,7 @@ package org.terasology.climateConditions.visualization;
 
 import org.terasology.climateConditions.ClimateConditionsSystem;
 import org.terasology.climateConditions.ConditionsBaseField;
+import org.terasology.climateConditions.FloatCurve;
 import org.terasology.engine.context.Context;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
@@ -36,10 +37,10 @@ public class ClimateMapDisplaySystem extends BaseComponentSystem {
         setClimateSeed();
 
         if (climateConditions.getHumidityBaseField() == null) {
-            climateConditions.configureHumidity(0, 200, 10, input -> input, 0, 1);
+            climateConditions.configureHumidityCurve(0, 200, 10, FloatCurve.IDENTITY, 0, 1);
         }
         if (climateConditions.getTemperatureBaseField() == null) {
-            climateConditions.configureTemperature(0, 200, 10, input -> input, 0, 1);
+            climateConditions.configureTemperatureCurve(0, 200, 10, FloatCurve.IDENTITY, 0, 1);
         }
     }
 
@@ -5,6 +5,7 @@ package org.terasology.climateConditions.visualization;
 
 import org.joml.Vector2i;
 import org.joml.Vector3f;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.joml.geom.Rectanglei;
 import org.terasology.nui.Canvas;
 import org.terasology.nui.Color;
@@ -14,6 +15,7 @@ import static org.terasology.climateConditions.visualization.ShowMapCommand.SIZE
 
 public class ClimateMapWidget extends CoreWidget {
     private ClimateMapDisplaySystem climateSystem;
+    private final float[] values = new float[SIZE_OF_IMAGE * SIZE_OF_IMAGE];
 
     /**
      * Converts the base climate condition values to a color, and draws them on the canvas.
@@ -23,13 +25,16 @@ public class ClimateMapWidget extends CoreWidget {
     public void onDraw(Canvas canvas) {
         if (climateSystem != null) {
             canvas.drawFilledRectangle(new Rectanglei(0, 0, SIZE_OF_IMAGE, SIZE_OF_IMAGE), Color.white);
+            Vector3f playerPosition = climateSystem.getPlayer().getPosition(new Vector3f());
+            int height = climateSystem.getMapHeight();
+            int minX = (int) Math.floor(playerPosition.x) - SIZE_OF_IMAGE / 2;
+            int minZ = (int) Math.floor(playerPosition.z) - SIZE_OF_IMAGE / 2;
+            BlockRegion region = new BlockRegion(minX, height, minZ,
+                minX + SIZE_OF_IMAGE - 1, height, minZ + SIZE_OF_IMAGE - 1);
+            climateSystem.getClimateConditionsBase().get(region, values);
             for (int i = 0; i < SIZE_OF_IMAGE; i++) {
                 for (int j = 0; j < SIZE_OF_IMAGE; j++) {
-                    Vector3f playerPosition = climateSystem.getPlayer().getPosition(new Vector3f());
-                    int height = climateSystem.getMapHeight();
-                    int offsetZ =  -(SIZE_OF_IMAGE / 2) + j;
-                    int offsetX = -(SIZE_OF_IMAGE / 2) + i;
-                    float color = climateSystem.getClimateConditionsBase().get(playerPosition.x + offsetX, height, playerPosition.z + offsetZ);
+                    float color = values[i + j * SIZE_OF_IMAGE];
                     canvas.drawLine(i, j, i + 1, j + 1, new Color(color, color, color));
                 }
             }
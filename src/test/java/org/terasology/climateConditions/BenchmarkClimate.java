@@ -0,0 +1,60 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.joml.Vector3i;
+
+import java.util.Random;
+
+/**
+ * Sets up the climate used by the benchmarks, without an engine context.
+ */
+final class BenchmarkClimate {
+    /** The horizontal extent of the area generators and query points are spread over. */
+    static final int AREA_SIZE = 2048;
+    /** The vertical extent of the area generators and query points are spread over. */
+    static final int AREA_HEIGHT = 128;
+
+    private static final long SEED = 4815162342L;
+
+    private BenchmarkClimate() {
+    }
+
+    /**
+     * Creates a climate configured like the climate map display does, with the given number of temperature and
+     * humidity generators registered the same way the generator systems register them.
+     */
+    static ClimateConditionsSystem create(int generatorCount) {
+        ClimateConditionsSystem climate = new ClimateConditionsSystem();
+        climate.setWorldSeed("benchmark");
+        climate.configureTemperatureCurve(0, 200, 10, FloatCurve.IDENTITY, 0, 1);
+        climate.configureHumidityCurve(0, 200, 10, FloatCurve.IDENTITY, 0, 1);
+
+        ConditionGeneratorIndex temperatureGenerators = new ConditionGeneratorIndex();
+        ConditionGeneratorIndex humidityGenerators = new ConditionGeneratorIndex();
+        Random random = new Random(SEED);
+        Vector3i position = new Vector3i();
+        for (int i = 0; i < generatorCount; i++) {
+            position.set(random.nextInt(AREA_SIZE), random.nextInt(AREA_HEIGHT), random.nextInt(AREA_SIZE));
+            temperatureGenerators.put(position, random.nextFloat(), 2, 12, random.nextBoolean());
+            humidityGenerators.put(position, random.nextFloat(), 2, 12, random.nextBoolean());
+        }
+        climate.addTemperatureModifier(1000, temperatureGenerators::getValue);
+        climate.addHumidityModifier(1000, humidityGenerators::getValue);
+        return climate;
+    }
+
+    /**
+     * Returns query points spread over the benchmark area, as consecutive x, y, z triples.
+     */
+    static float[] createPoints(int count) {
+        Random random = new Random(SEED + 1);
+        float[] points = new float[3 * count];
+        for (int i = 0; i < count; i++) {
+            points[3 * i] = random.nextFloat() * AREA_SIZE;
+            points[3 * i + 1] = random.nextFloat() * AREA_HEIGHT;
+            points[3 * i + 2] = random.nextFloat() * AREA_SIZE;
+        }
+        return points;
+    }
+}
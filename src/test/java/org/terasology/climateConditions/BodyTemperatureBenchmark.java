@@ -0,0 +1,68 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the body temperature level check and a simulated engine tick of the body temperature update over a
+ * population of characters, see {@link ThermalSimulation}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyTemperatureBenchmark {
+    private static final int TEMPERATURE_COUNT = 4096;
+
+    @Param({"10", "100", "1000"})
+    public int characters;
+
+    @Param({"100"})
+    public int generators;
+
+    private final BodyTemperatureSystem bodyTemperatureSystem = new BodyTemperatureSystem();
+    private ThermalSimulation simulation;
+    private float[] temperatures;
+    private int next;
+
+    @Setup
+    public void setup() {
+        simulation = new ThermalSimulation(characters, generators, false);
+        temperatures = new float[TEMPERATURE_COUNT];
+        Random random = new Random(characters);
+        for (int i = 0; i < TEMPERATURE_COUNT; i++) {
+            temperatures[i] = 0.1f + 0.6f * random.nextFloat();
+        }
+    }
+
+    @Benchmark
+    public BodyTemperatureLevel checkBodyTemperatureLevel() {
+        float temperature = temperatures[next];
+        next = (next + 1) % TEMPERATURE_COUNT;
+        return bodyTemperatureSystem.checkBodyTemperatureLevel(temperature);
+    }
+
+    /**
+     * Simulates one engine tick, updating the share of the characters due in it.
+     */
+    @Benchmark
+    public void update() {
+        simulation.tick();
+    }
+}
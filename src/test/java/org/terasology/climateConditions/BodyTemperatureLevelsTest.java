@@ -0,0 +1,158 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.terasology.climateConditions.BodyTemperatureLevel.CRITICAL_HIGH;
+import static org.terasology.climateConditions.BodyTemperatureLevel.CRITICAL_LOW;
+import static org.terasology.climateConditions.BodyTemperatureLevel.HIGH;
+import static org.terasology.climateConditions.BodyTemperatureLevel.LOW;
+import static org.terasology.climateConditions.BodyTemperatureLevel.NORMAL;
+import static org.terasology.climateConditions.BodyTemperatureLevel.RAISED;
+import static org.terasology.climateConditions.BodyTemperatureLevel.REDUCED;
+
+public class BodyTemperatureLevelsTest {
+    /** The number of buckets of the level tables, which are not visible to the test. */
+    private static final int TABLE_SIZE = 1024;
+
+    private final BodyTemperatureThresholdsComponent thresholds = new BodyTemperatureThresholdsComponent();
+    private final BodyTemperatureLevels levels = new BodyTemperatureLevels(thresholds);
+
+    @Test
+    public void lowThresholdsBelongToTheLevelBelow() {
+        assertEquals(CRITICAL_LOW, levels.getLevel(0.17f));
+        assertEquals(LOW, levels.getLevel(Math.nextUp(0.17f)));
+        assertEquals(LOW, levels.getLevel(0.22f));
+        assertEquals(REDUCED, levels.getLevel(Math.nextUp(0.22f)));
+        assertEquals(REDUCED, levels.getLevel(0.3f));
+        assertEquals(NORMAL, levels.getLevel(Math.nextUp(0.3f)));
+    }
+
+    @Test
+    public void highThresholdsBelongToTheLevelAbove() {
+        assertEquals(NORMAL, levels.getLevel(Math.nextDown(0.5f)));
+        assertEquals(RAISED, levels.getLevel(0.5f));
+        assertEquals(RAISED, levels.getLevel(Math.nextDown(0.58f)));
+        assertEquals(HIGH, levels.getLevel(0.58f));
+        assertEquals(HIGH, levels.getLevel(Math.nextDown(0.63f)));
+        assertEquals(CRITICAL_HIGH, levels.getLevel(0.63f));
+    }
+
+    @Test
+    public void temperaturesOutsideTheTablesUseTheThresholds() {
+        assertEquals(CRITICAL_LOW, levels.getLevel(-1));
+        assertEquals(CRITICAL_LOW, levels.getLevel(Math.nextDown(0f)));
+        assertEquals(CRITICAL_HIGH, levels.getLevel(1));
+        assertEquals(CRITICAL_HIGH, levels.getLevel(Float.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void bucketEdgesMatchTheThresholds() {
+        assertBucketEdgesMatch(levels, thresholds);
+    }
+
+    @Test
+    public void thresholdsOnBucketEdgesMatchTheThresholds() {
+        BodyTemperatureThresholdsComponent onEdges = new BodyTemperatureThresholdsComponent();
+        onEdges.criticalLow = 128f / TABLE_SIZE;
+        onEdges.low = 256f / TABLE_SIZE;
+        onEdges.reduced = 257f / TABLE_SIZE;
+        onEdges.raised = 512f / TABLE_SIZE;
+        onEdges.high = 513f / TABLE_SIZE;
+        onEdges.criticalHigh = 1023f / TABLE_SIZE;
+
+        assertBucketEdgesMatch(new BodyTemperatureLevels(onEdges), onEdges);
+    }
+
+    @Test
+    public void oscillationWithinHysteresisKeepsTheLevel() {
+        float[] aroundRaised = {0.496f, 0.5f, 0.504f, 0.499f, 0.5049f, 0.4951f};
+        for (float temperature : aroundRaised) {
+            assertEquals(NORMAL, levels.getLevel(temperature, NORMAL));
+            assertEquals(RAISED, levels.getLevel(temperature, RAISED));
+        }
+        float[] aroundReduced = {0.296f, 0.3f, Math.nextUp(0.3f), 0.304f, 0.2951f};
+        for (float temperature : aroundReduced) {
+            assertEquals(NORMAL, levels.getLevel(temperature, NORMAL));
+            assertEquals(REDUCED, levels.getLevel(temperature, REDUCED));
+        }
+    }
+
+    @Test
+    public void passingTheHysteresisChangesTheLevel() {
+        assertEquals(RAISED, levels.getLevel(0.506f, NORMAL));
+        assertEquals(NORMAL, levels.getLevel(0.494f, RAISED));
+        assertEquals(REDUCED, levels.getLevel(0.294f, NORMAL));
+        assertEquals(NORMAL, levels.getLevel(0.306f, REDUCED));
+    }
+
+    @Test
+    public void largeChangesJumpMultipleLevels() {
+        assertEquals(CRITICAL_HIGH, levels.getLevel(0.7f, NORMAL));
+        assertEquals(CRITICAL_LOW, levels.getLevel(0.1f, CRITICAL_HIGH));
+        assertEquals(REDUCED, levels.getLevel(0.25f, CRITICAL_HIGH));
+        assertEquals(HIGH, levels.getLevel(0.6f, CRITICAL_LOW));
+        assertEquals(CRITICAL_LOW, levels.getLevel(-1, HIGH));
+        assertEquals(CRITICAL_HIGH, levels.getLevel(2, LOW));
+    }
+
+    @Test
+    public void zeroHysteresisMatchesTheLevelWithoutHysteresis() {
+        BodyTemperatureThresholdsComponent exact = new BodyTemperatureThresholdsComponent();
+        exact.hysteresis = 0;
+        BodyTemperatureLevels exactLevels = new BodyTemperatureLevels(exact);
+
+        for (BodyTemperatureLevel current : BodyTemperatureLevel.values()) {
+            for (int bucket = 0; bucket <= TABLE_SIZE; bucket++) {
+                float temperature = (float) bucket / TABLE_SIZE;
+                assertEquals(exactLevels.getLevel(temperature), exactLevels.getLevel(temperature, current));
+            }
+        }
+    }
+
+    @Test
+    public void invalidThresholdsAreRejected() {
+        BodyTemperatureThresholdsComponent descending = new BodyTemperatureThresholdsComponent();
+        descending.high = descending.raised;
+        assertThrows(IllegalArgumentException.class, () -> new BodyTemperatureLevels(descending));
+
+        BodyTemperatureThresholdsComponent negativeHysteresis = new BodyTemperatureThresholdsComponent();
+        negativeHysteresis.hysteresis = -0.01f;
+        assertThrows(IllegalArgumentException.class, () -> new BodyTemperatureLevels(negativeHysteresis));
+    }
+
+    /**
+     * Checks the levels at, right below and right above every bucket edge of the tables against the thresholds.
+     */
+    private static void assertBucketEdgesMatch(BodyTemperatureLevels levels,
+                                               BodyTemperatureThresholdsComponent thresholds) {
+        for (int bucket = 0; bucket <= TABLE_SIZE; bucket++) {
+            float edge = (float) bucket / TABLE_SIZE;
+            for (float temperature : new float[]{Math.nextDown(edge), edge, Math.nextUp(edge)}) {
+                assertEquals(getExpectedLevel(thresholds, temperature), levels.getLevel(temperature),
+                        "Level of " + temperature);
+            }
+        }
+    }
+
+    private static BodyTemperatureLevel getExpectedLevel(BodyTemperatureThresholdsComponent thresholds,
+                                                         float temperature) {
+        if (temperature <= thresholds.criticalLow) {
+            return CRITICAL_LOW;
+        } else if (temperature <= thresholds.low) {
+            return LOW;
+        } else if (temperature <= thresholds.reduced) {
+            return REDUCED;
+        } else if (temperature < thresholds.raised) {
+            return NORMAL;
+        } else if (temperature < thresholds.high) {
+            return RAISED;
+        } else if (temperature < thresholds.criticalHigh) {
+            return HIGH;
+        }
+        return CRITICAL_HIGH;
+    }
+}
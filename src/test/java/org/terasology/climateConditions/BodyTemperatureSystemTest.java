@@ -0,0 +1,46 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BodyTemperatureSystemTest {
+    private static final int CHARACTER_COUNT = 40;
+    private static final int GENERATOR_COUNT = 200;
+    private static final int SECONDS = 10;
+    /** Body temperature changes too small to compare reliably. */
+    private static final float MIN_CHANGE = 0.001f;
+
+    @Test
+    public void shelterSlowsDownApproachingTheEnvironment() {
+        BodyTemperatureComponent[] exposed = simulate(0);
+        BodyTemperatureComponent[] sheltered = simulate(ShelterSystem.ENCLOSED);
+
+        // Over a short time the approach is nearly linear, so the change scales with the exposure.
+        float exposure = 1 - BodyTemperatureSystem.MAX_SHELTER_INSULATION;
+        float initial = new BodyTemperatureComponent().current;
+        int compared = 0;
+        // The characters with even indices stay in place, so they are in the same environment in both simulations.
+        for (int i = 0; i < CHARACTER_COUNT; i += 2) {
+            float exposedChange = exposed[i].current - initial;
+            if (Math.abs(exposedChange) < MIN_CHANGE) {
+                continue;
+            }
+            float shelteredChange = sheltered[i].current - initial;
+            assertEquals(exposure, shelteredChange / exposedChange, 0.02f, "Relative change of character " + i);
+            compared++;
+        }
+        assertTrue(compared > 0, "No character changed its body temperature");
+    }
+
+    private static BodyTemperatureComponent[] simulate(float shelter) {
+        ThermalSimulation simulation = new ThermalSimulation(CHARACTER_COUNT, GENERATOR_COUNT, false, shelter);
+        for (int tick = 0; tick < SECONDS * ThermalSimulation.TICKS_PER_SECOND; tick++) {
+            simulation.tick();
+        }
+        return simulation.getBodyTemperatures();
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the climate benchmarks and writes the results as JSON, so that runs of different builds can be compared.
+ * <p>
+ * Benchmarks take minutes, so they only run with the {@value #ENABLED_PROPERTY} system property set to {@code true},
+ * e.g. by running the tests with {@code -Dclimate.benchmarks=true}. The results are written to
+ * {@value #DEFAULT_RESULT_FILE} unless the {@value #RESULT_FILE_PROPERTY} system property names another file.
+ * <p>
+ * The benchmarks are regular test classes annotated for JMH, so running them requires JMH and its annotation
+ * processor on the test classpath.
+ */
+public class ClimateBenchmarksTest {
+    private static final String ENABLED_PROPERTY = "climate.benchmarks";
+    private static final String RESULT_FILE_PROPERTY = "climate.benchmarks.result";
+    private static final String DEFAULT_RESULT_FILE = "build/reports/jmh/climateConditions.json";
+
+    @Test
+    @EnabledIfSystemProperty(named = ENABLED_PROPERTY, matches = "true")
+    void runBenchmarks() throws RunnerException {
+        String resultFile = System.getProperty(RESULT_FILE_PROPERTY, DEFAULT_RESULT_FILE);
+        File parent = new File(resultFile).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        Options options = new OptionsBuilder()
+            .include(ClimateBenchmarksTest.class.getPackage().getName() + ".*Benchmark")
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,68 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single point climate queries with a varying number of active generators.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClimateQueryBenchmark {
+    private static final int POINT_COUNT = 4096;
+
+    @Param({"0", "100", "10000"})
+    public int generators;
+
+    private ClimateConditionsSystem climate;
+    private float[] points;
+    private int next;
+    private final ConditionsSample sample = new ConditionsSample();
+
+    @Setup
+    public void setup() {
+        climate = BenchmarkClimate.create(generators);
+        points = BenchmarkClimate.createPoints(POINT_COUNT);
+    }
+
+    @Benchmark
+    public float getTemperature() {
+        int index = nextPoint();
+        return climate.getTemperature(points[index], points[index + 1], points[index + 2]);
+    }
+
+    @Benchmark
+    public float getHumidity() {
+        int index = nextPoint();
+        return climate.getHumidity(points[index], points[index + 1], points[index + 2]);
+    }
+
+    @Benchmark
+    public ConditionsSample getConditions() {
+        int index = nextPoint();
+        return climate.getConditions(points[index], points[index + 1], points[index + 2], sample);
+    }
+
+    private int nextPoint() {
+        int index = 3 * next;
+        next = (next + 1) % POINT_COUNT;
+        return index;
+    }
+}
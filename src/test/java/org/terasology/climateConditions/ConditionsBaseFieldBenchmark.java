@@ -0,0 +1,57 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sampling the base field of a condition, per point and for a whole chunk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionsBaseFieldBenchmark {
+    private static final int POINT_COUNT = 4096;
+
+    private ConditionsBaseField baseField;
+    private float[] points;
+    private int next;
+    private BlockRegion chunk;
+    private float[] chunkValues;
+
+    @Setup
+    public void setup() {
+        baseField = BenchmarkClimate.create(0).getTemperatureBaseField();
+        points = BenchmarkClimate.createPoints(POINT_COUNT);
+        chunk = new BlockRegion(0, 0, 0, 31, 63, 31);
+        chunkValues = new float[chunk.volume()];
+    }
+
+    @Benchmark
+    public float get() {
+        int index = 3 * next;
+        next = (next + 1) % POINT_COUNT;
+        return baseField.get(points[index], points[index + 1], points[index + 2]);
+    }
+
+    @Benchmark
+    public float[] getChunk() {
+        baseField.get(chunk, chunkValues);
+        return chunkValues;
+    }
+}
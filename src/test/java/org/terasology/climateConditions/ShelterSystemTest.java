@@ -0,0 +1,251 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.context.internal.ContextImpl;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.registry.InjectionHelper;
+import org.terasology.engine.world.OnChangedBlock;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.event.BeforeChunkUnload;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ShelterSystemTest {
+    /** The height of the highest blocks of the test world, everything above is under open sky. */
+    private static final int WORLD_TOP = 256;
+
+    /** The solid blocks above ground, everything up to height 0 is solid as well. */
+    private final Set<Vector3i> solid = new HashSet<>();
+    private final Block air = mock(Block.class);
+    private final Block stone = mock(Block.class);
+    private final ShelterSystem shelterSystem = new ShelterSystem();
+    private int worldReads;
+
+    @BeforeEach
+    public void setup() {
+        when(air.isPenetrable()).thenReturn(true);
+        when(stone.isPenetrable()).thenReturn(false);
+
+        WorldProvider worldProvider = mock(WorldProvider.class);
+        when(worldProvider.isBlockRelevant(anyInt(), anyInt(), anyInt())).thenReturn(true);
+        when(worldProvider.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            worldReads++;
+            return isSolid(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2))
+                    ? stone : air;
+        });
+        when(worldProvider.getSunlight(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            worldReads++;
+            int x = invocation.getArgument(0);
+            int y = invocation.getArgument(1);
+            int z = invocation.getArgument(2);
+            for (int above = y + 1; above <= WORLD_TOP; above++) {
+                if (isSolid(x, above, z)) {
+                    return (byte) 0;
+                }
+            }
+            return Chunks.MAX_SUNLIGHT;
+        });
+
+        ContextImpl context = new ContextImpl();
+        context.put(WorldProvider.class, worldProvider);
+        InjectionHelper.inject(shelterSystem, context);
+    }
+
+    @Test
+    public void openSkyIsNotSheltered() {
+        assertEquals(0, fillAndGetShelter(1, 2, 1));
+    }
+
+    @Test
+    public void enclosureIsSheltered() {
+        buildHut(true);
+
+        assertEquals(ShelterSystem.ENCLOSED, fillAndGetShelter(1, 2, 1));
+    }
+
+    @Test
+    public void enclosureWithOpeningIsRoofed() {
+        buildHut(true);
+        solid.remove(new Vector3i(3, 2, 1));
+
+        assertEquals(ShelterSystem.ROOFED, fillAndGetShelter(1, 2, 1));
+    }
+
+    @Test
+    public void largeEnclosureIsLessSheltered() {
+        fill(-30, 5, -30, 30, 5, 30);
+
+        assertEquals(ShelterSystem.LARGE_ENCLOSURE, fillAndGetShelter(0, 1, 0));
+    }
+
+    @Test
+    public void lookupDoesNotFill() {
+        buildHut(true);
+
+        assertEquals(0, shelterSystem.getShelter(1, 2, 1));
+        assertEquals(0, worldReads);
+    }
+
+    @Test
+    public void cachedLookupDoesNotReadWorld() {
+        buildHut(true);
+        fillAndGetShelter(1, 2, 1);
+        worldReads = 0;
+
+        assertEquals(ShelterSystem.ENCLOSED, shelterSystem.getShelter(1, 2, 1));
+        shelterSystem.update(0.05f);
+        assertEquals(0, worldReads);
+    }
+
+    @Test
+    public void smallFillsShareTheTickBudget() {
+        buildHut(true);
+        forEachInside(shelterSystem::getShelter);
+        shelterSystem.update(0.05f);
+
+        int[] filled = new int[1];
+        forEachInside((x, y, z) -> {
+            if (shelterSystem.getShelter(x, y, z) == ShelterSystem.ENCLOSED) {
+                filled[0]++;
+            }
+        });
+        assertEquals(27, filled[0]);
+    }
+
+    @Test
+    public void fillsAreLimitedByVisitedCellsPerTick() {
+        fill(-30, 5, -30, 30, 5, 30);
+        for (int x = 0; x < 8; x++) {
+            shelterSystem.getShelter(x, 1, 0);
+        }
+        shelterSystem.update(0.05f);
+
+        int filled = 0;
+        for (int x = 0; x < 8; x++) {
+            if (shelterSystem.getShelter(x, 1, 0) == ShelterSystem.LARGE_ENCLOSURE) {
+                filled++;
+            }
+        }
+        assertEquals(ShelterSystem.MAX_FILL_CELLS_PER_TICK / ShelterSystem.MAX_FILL_CELLS, filled);
+    }
+
+    @Test
+    public void changedBlockKeepsLastShelterUntilFilled() {
+        buildHut(true);
+        fillAndGetShelter(1, 2, 1);
+
+        solid.remove(new Vector3i(3, 2, 1));
+        changeBlock(3, 2, 1);
+
+        assertEquals(ShelterSystem.ENCLOSED, shelterSystem.getShelter(1, 2, 1));
+        assertEquals(ShelterSystem.ROOFED, fillAndGetShelter(1, 2, 1));
+    }
+
+    @Test
+    public void changedBlockFarAwayKeepsShelter() {
+        buildHut(true);
+        fillAndGetShelter(1, 2, 1);
+        worldReads = 0;
+
+        solid.add(new Vector3i(3 * Chunks.SIZE_X, 2, 1));
+        changeBlock(3 * Chunks.SIZE_X, 2, 1);
+
+        assertEquals(ShelterSystem.ENCLOSED, shelterSystem.getShelter(1, 2, 1));
+        shelterSystem.update(0.05f);
+        assertEquals(0, worldReads);
+    }
+
+    @Test
+    public void roofHighAboveShadesColumnBelow() {
+        buildHut(false);
+        assertEquals(0, fillAndGetShelter(1, 2, 1));
+
+        fill(-1, 4 * Chunks.SIZE_Y, -1, 3, 4 * Chunks.SIZE_Y, 3);
+        changeBlock(1, 4 * Chunks.SIZE_Y, 1);
+
+        assertEquals(ShelterSystem.ROOFED, fillAndGetShelter(1, 2, 1));
+    }
+
+    @Test
+    public void unloadedChunkIsForgotten() {
+        buildHut(true);
+        fillAndGetShelter(1, 2, 1);
+
+        shelterSystem.onChunkUnload(new BeforeChunkUnload(new Vector3i(0, 0, 0)), EntityRef.NULL);
+
+        assertEquals(0, shelterSystem.getShelter(1, 2, 1));
+    }
+
+    /**
+     * Builds the walls of a hut with the inside from (0, 1, 0) to (2, 3, 2) on the ground, and its roof if asked to.
+     */
+    private void buildHut(boolean roofed) {
+        fill(-1, 1, -1, 3, 3, -1);
+        fill(-1, 1, 3, 3, 3, 3);
+        fill(-1, 1, 0, -1, 3, 2);
+        fill(3, 1, 0, 3, 3, 2);
+        if (roofed) {
+            fill(-1, 4, -1, 3, 4, 3);
+        }
+    }
+
+    /**
+     * Calls the consumer for every block inside the hut.
+     */
+    private static void forEachInside(PositionConsumer consumer) {
+        for (int x = 0; x <= 2; x++) {
+            for (int y = 1; y <= 3; y++) {
+                for (int z = 0; z <= 2; z++) {
+                    consumer.accept(x, y, z);
+                }
+            }
+        }
+    }
+
+    private void fill(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    solid.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+    }
+
+    private boolean isSolid(int x, int y, int z) {
+        return y <= 0 || solid.contains(new Vector3i(x, y, z));
+    }
+
+    private void changeBlock(int x, int y, int z) {
+        Vector3i position = new Vector3i(x, y, z);
+        Block newType = isSolid(x, y, z) ? stone : air;
+        shelterSystem.onChangedBlock(new OnChangedBlock(position, newType, newType == stone ? air : stone),
+                EntityRef.NULL);
+    }
+
+    /**
+     * Looks the shelter of the given position up, lets the system fill it and looks it up again.
+     */
+    private float fillAndGetShelter(int x, int y, int z) {
+        shelterSystem.getShelter(x, y, z);
+        shelterSystem.update(0.05f);
+        return shelterSystem.getShelter(x, y, z);
+    }
+
+    @FunctionalInterface
+    private interface PositionConsumer {
+        void accept(int x, int y, int z);
+    }
+}
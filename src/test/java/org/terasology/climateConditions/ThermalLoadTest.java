@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a {@link ThermalSimulation} of a population of characters and reports the load per tick.
+ * <p>
+ * Runs with every build as a quick test with a small population. Load measurements need {@link #main(String[])},
+ * which runs larger sizes, all arguments optional: the number of characters (1000), generators (10000), simulated
+ * seconds (600) and warmup seconds (60).
+ */
+public class ThermalLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(ThermalLoadTest.class);
+
+    @Test
+    void quantizedReplicationSavesLess() {
+        ThermalSimulation replicated = ThermalSimulation.run(100, 500, 20, 5, false);
+        ThermalSimulation quantized = ThermalSimulation.run(100, 500, 20, 5, true);
+        logger.info("{}", replicated.report());
+        logger.info("{}", quantized.report());
+
+        assertAllUpdated(replicated);
+        assertAllUpdated(quantized);
+        assertTrue(quantized.getSaves() < replicated.getSaves(), "Quantized replication should save fewer components");
+    }
+
+    public static void main(String[] args) {
+        int characterCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int generatorCount = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 600;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        for (boolean quantizedReplication : new boolean[]{false, true}) {
+            logger.info("{}", ThermalSimulation.run(characterCount, generatorCount, seconds, warmupSeconds,
+                    quantizedReplication).report());
+        }
+    }
+
+    private static void assertAllUpdated(ThermalSimulation simulation) {
+        float initial = new BodyTemperatureComponent().current;
+        for (BodyTemperatureComponent bodyTemperature : simulation.getBodyTemperatures()) {
+            assertTrue(Float.isFinite(bodyTemperature.current), "Body temperature is not finite");
+            assertNotEquals(initial, bodyTemperature.current, "Body temperature was never updated");
+        }
+    }
+}
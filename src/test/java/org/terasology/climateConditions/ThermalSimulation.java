@@ -0,0 +1,269 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.climateConditions;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.mockito.invocation.InvocationOnMock;
+import org.terasology.climateConditions.metrics.LatencyHistogram;
+import org.terasology.engine.context.internal.ContextImpl;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.engine.logic.characters.AliveCharacterComponent;
+import org.terasology.engine.logic.delay.DelayManager;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.network.ClientComponent;
+import org.terasology.engine.registry.InjectionHelper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Simulates the body temperature updates of a population of characters headlessly, without an engine.
+ * <p>
+ * The characters are spread over a {@link BenchmarkClimate}, every odd one walks around randomly and every
+ * {@link #CHARACTERS_PER_PLAYER}th is a player. Every simulated engine tick runs
+ * {@link BodyTemperatureSystem#update(float)}, so the whole update is covered: scheduling, level of detail, sampling,
+ * modifiers and the resulting events. The entities are test doubles, which route the body temperature events back to
+ * the system the way the event system would and count the events sent and components saved. Measured times include
+ * the overhead of the test doubles.
+ */
+final class ThermalSimulation {
+    static final int TICK_INTERVAL = 50;
+    static final int TICKS_PER_SECOND = 1000 / TICK_INTERVAL;
+    private static final int CHARACTERS_PER_PLAYER = 50;
+    private static final float WALK_DISTANCE = 1.5f;
+    private static final long SEED = 4815162342L;
+
+    private final BodyTemperatureSystem bodyTemperatureSystem = new BodyTemperatureSystem();
+    private final BodyTemperatureComponent[] bodyTemperatures;
+    private final LocationComponent[] locations;
+    private final boolean quantizedReplication;
+    private final Random random = new Random(SEED);
+    private final Vector3f position = new Vector3f();
+    private long now;
+
+    private final LatencyHistogram tickDurations = new LatencyHistogram();
+    private int ticks;
+    private long events;
+    private long levelChanges;
+    private long saves;
+    private long allocatedBytes;
+
+    /**
+     * @param characterCount the number of characters with a body temperature
+     * @param generatorCount the number of temperature and of humidity generators
+     * @param quantizedReplication whether the characters replicate their body temperature quantized
+     */
+    ThermalSimulation(int characterCount, int generatorCount, boolean quantizedReplication) {
+        this(characterCount, generatorCount, quantizedReplication, 0);
+    }
+
+    /**
+     * @param characterCount the number of characters with a body temperature
+     * @param generatorCount the number of temperature and of humidity generators
+     * @param quantizedReplication whether the characters replicate their body temperature quantized
+     * @param shelter the shelter of every position, see {@link ShelterSystem#getShelter(Vector3fc)}
+     */
+    ThermalSimulation(int characterCount, int generatorCount, boolean quantizedReplication, float shelter) {
+        this.quantizedReplication = quantizedReplication;
+        bodyTemperatures = new BodyTemperatureComponent[characterCount];
+        locations = new LocationComponent[characterCount];
+        EntityRef[] characters = new EntityRef[characterCount];
+        List<EntityRef> clients = new ArrayList<>();
+        for (int i = 0; i < characterCount; i++) {
+            bodyTemperatures[i] = new BodyTemperatureComponent();
+            bodyTemperatures[i].quantizedReplication = quantizedReplication;
+            locations[i] = new LocationComponent();
+            locations[i].setWorldPosition(position.set(random.nextFloat() * BenchmarkClimate.AREA_SIZE,
+                    random.nextFloat() * BenchmarkClimate.AREA_HEIGHT, random.nextFloat() * BenchmarkClimate.AREA_SIZE));
+            characters[i] = createCharacter(bodyTemperatures[i], locations[i]);
+            if (i % CHARACTERS_PER_PLAYER == 0) {
+                clients.add(createClient(characters[i]));
+            }
+        }
+
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getEntitiesWith(AliveCharacterComponent.class, BodyTemperatureComponent.class,
+                LocationComponent.class)).thenReturn(Arrays.asList(characters));
+        when(entityManager.getEntitiesWith(ClientComponent.class)).thenReturn(clients);
+        Time time = mock(Time.class);
+        when(time.getGameTimeInMs()).thenAnswer(invocation -> now);
+        when(time.getRealTimeInMs()).thenAnswer(invocation -> now);
+
+        ContextImpl context = new ContextImpl();
+        context.put(ClimateConditionsSystem.class, BenchmarkClimate.create(generatorCount));
+        context.put(EntityManager.class, entityManager);
+        context.put(Time.class, time);
+        context.put(DelayManager.class, mock(DelayManager.class));
+        // Without a thresholds prefab the system falls back to the default thresholds.
+        context.put(PrefabManager.class, mock(PrefabManager.class));
+        ShelterSystem shelterSystem = mock(ShelterSystem.class);
+        when(shelterSystem.getShelter(any(Vector3fc.class))).thenReturn(shelter);
+        context.put(ShelterSystem.class, shelterSystem);
+        BodyTemperatureTelemetrySystem telemetry = new BodyTemperatureTelemetrySystem();
+        InjectionHelper.inject(telemetry, context);
+        context.put(BodyTemperatureTelemetrySystem.class, telemetry);
+        InjectionHelper.inject(bodyTemperatureSystem, context);
+        bodyTemperatureSystem.initialise();
+    }
+
+    /**
+     * Simulates the given number of seconds after the given number of warmup seconds, which are not counted.
+     */
+    static ThermalSimulation run(int characterCount, int generatorCount, int seconds, int warmupSeconds,
+                                 boolean quantizedReplication) {
+        ThermalSimulation simulation = new ThermalSimulation(characterCount, generatorCount, quantizedReplication);
+        for (int tick = 0; tick < warmupSeconds * TICKS_PER_SECOND; tick++) {
+            simulation.tick();
+        }
+        simulation.resetCounters();
+        for (int tick = 0; tick < seconds * TICKS_PER_SECOND; tick++) {
+            simulation.tick();
+        }
+        return simulation;
+    }
+
+    private EntityRef createCharacter(BodyTemperatureComponent bodyTemperature, LocationComponent location) {
+        EntityRef character = mock(EntityRef.class);
+        BodyTemperaturePredictionComponent[] prediction = new BodyTemperaturePredictionComponent[1];
+        when(character.getComponent(BodyTemperatureComponent.class)).thenReturn(bodyTemperature);
+        when(character.getComponent(BodyTemperaturePredictionComponent.class)).thenAnswer(invocation -> prediction[0]);
+        when(character.getComponent(LocationComponent.class)).thenReturn(location);
+        when(character.hasComponent(AliveCharacterComponent.class)).thenReturn(true);
+        when(character.send(any())).thenAnswer(this::dispatch);
+        doAnswer(invocation -> {
+            saves++;
+            return null;
+        }).when(character).saveComponent(any());
+        doAnswer(invocation -> {
+            saves++;
+            Object component = invocation.getArgument(0);
+            if (component instanceof BodyTemperaturePredictionComponent) {
+                prediction[0] = (BodyTemperaturePredictionComponent) component;
+            }
+            return null;
+        }).when(character).addOrSaveComponent(any());
+        return character;
+    }
+
+    private static EntityRef createClient(EntityRef character) {
+        ClientComponent clientComponent = new ClientComponent();
+        clientComponent.character = character;
+        EntityRef client = mock(EntityRef.class);
+        when(client.getComponent(ClientComponent.class)).thenReturn(clientComponent);
+        return client;
+    }
+
+    /**
+     * Delivers an event sent to a character to the handlers of the body temperature system, like the event system
+     * would.
+     */
+    private Object dispatch(InvocationOnMock invocation) {
+        Object event = invocation.getArgument(0);
+        EntityRef character = (EntityRef) invocation.getMock();
+        if (event instanceof BodyTemperatureValueChangedEvent) {
+            events++;
+            bodyTemperatureSystem.onBodyTemperatureValueChanged((BodyTemperatureValueChangedEvent) event,
+                    character, character.getComponent(BodyTemperatureComponent.class));
+        } else if (event instanceof BodyTemperatureLevelChangedEvent) {
+            levelChanges++;
+            bodyTemperatureSystem.onBodyTemperatureLevelChanged((BodyTemperatureLevelChangedEvent) event,
+                    character);
+        }
+        return event;
+    }
+
+    /**
+     * Simulates a single engine tick, moving the walking characters once per simulated second.
+     */
+    void tick() {
+        if (ticks % TICKS_PER_SECOND == 0) {
+            walk();
+        }
+        ticks++;
+        now += TICK_INTERVAL;
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+
+        bodyTemperatureSystem.update(TICK_INTERVAL / 1000f);
+
+        tickDurations.record(System.nanoTime() - start);
+        allocatedBytes += getAllocatedBytes() - allocatedBefore;
+    }
+
+    /**
+     * Moves every other character, so both walking and idle characters are part of the load.
+     */
+    private void walk() {
+        for (int i = 1; i < locations.length; i += 2) {
+            locations[i].getWorldPosition(position);
+            position.x = clamp(position.x + WALK_DISTANCE * (2 * random.nextFloat() - 1));
+            position.z = clamp(position.z + WALK_DISTANCE * (2 * random.nextFloat() - 1));
+            locations[i].setWorldPosition(position);
+        }
+    }
+
+    private static float clamp(float coordinate) {
+        return Math.max(0, Math.min(BenchmarkClimate.AREA_SIZE, coordinate));
+    }
+
+    void resetCounters() {
+        tickDurations.reset();
+        ticks = 0;
+        events = 0;
+        levelChanges = 0;
+        saves = 0;
+        allocatedBytes = 0;
+    }
+
+    BodyTemperatureComponent[] getBodyTemperatures() {
+        return bodyTemperatures;
+    }
+
+    /**
+     * Returns the number of components saved or added since the counters were reset.
+     */
+    long getSaves() {
+        return saves;
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread so far, or 0 if the JVM doesn't provide them.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    String report() {
+        return String.format(Locale.ROOT, "Thermal simulation: %d characters, %d ticks of %d ms, quantized"
+                        + " replication %s%n"
+                        + "tick duration: mean %d ns, p50 <= %d ns, p99 <= %d ns, max %d ns%n"
+                        + "per second: %.1f value change events, %.2f level changes, %.1f components saved,"
+                        + " %.0f bytes allocated",
+                bodyTemperatures.length, ticks, TICK_INTERVAL, quantizedReplication ? "on" : "off",
+                tickDurations.getMeanNanos(), tickDurations.getPercentileNanos(50),
+                tickDurations.getPercentileNanos(99), tickDurations.getMaxNanos(), perSecond(events),
+                perSecond(levelChanges), perSecond(saves), perSecond(allocatedBytes));
+    }
+
+    private double perSecond(long total) {
+        return (double) total * TICKS_PER_SECOND / ticks;
+    }
+}